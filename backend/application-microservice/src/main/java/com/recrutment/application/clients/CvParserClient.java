@@ -1,407 +1,342 @@
 package com.recrutment.application.clients;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recrutment.application.config.CvParserResilienceConfig;
 import com.recrutment.application.entities.CvAnalysis;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.timelimiter.TimeLimiter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Component
 @Slf4j
 public class CvParserClient {
 
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final TimeLimiter timeLimiter;
+    // runs the blocking HTTP call so the time limiter can give up on it
+    private final ExecutorService callExecutor;
 
     @Value("${cv.parser.url:http://cv-parser-service:8085}")
     private String cvParserUrl;
 
-    public CvParserClient(RestTemplate restTemplate, ObjectMapper objectMapper) {
+    // no JWT interceptor: interceptors force the whole multipart body into a byte[]
+    public CvParserClient(@Qualifier("cvParserRestTemplate") RestTemplate restTemplate,
+                          CircuitBreaker cvParserCircuitBreaker, Bulkhead cvParserBulkhead,
+                          TimeLimiter cvParserTimeLimiter,
+                          @Qualifier("cvParserCallExecutor") ExecutorService callExecutor) {
         this.restTemplate = restTemplate;
-        this.objectMapper = objectMapper;
+        this.circuitBreaker = cvParserCircuitBreaker;
+        this.bulkhead = cvParserBulkhead;
+        this.timeLimiter = cvParserTimeLimiter;
+        this.callExecutor = callExecutor;
     }
 
     /**
      * Analyze a CV file.
      * CV parsing and GitHub enrichment run in parallel inside Python.
      * github_url is optional — enrichment runs for any candidate who provides one.
+     * The CV is streamed from its Resource into the request body.
+     *
+     * The call goes through the cv-parser bulkhead, circuit breaker and time limiter
+     * (CvParserResilienceConfig). Rejections throw CvParserUnavailableException,
+     * transport errors, timeouts, 5xx, 408 and 429 are rethrown so the caller can retry.
+     * Other 4xx answers and unreadable responses come back as a FAILED analysis.
      */
-    public CvAnalysis analyze(UUID applicationId, byte[] cvFile,
+    public CvAnalysis analyze(UUID applicationId, Resource cvFile,
                               String filename, String githubUrl) {
-        String url = cvParserUrl + "/api/cv-parser/analyze";
         log.info("[CvParserClient] Analyzing CV for application: {}", applicationId);
 
+        // a plain Future so that a timeout actually interrupts the call
+        Supplier<Future<CvAnalysis>> async = () -> callExecutor.submit(
+                () -> post(applicationId, cvFile, filename, githubUrl));
+        // bulkhead outermost: a full bulkhead says nothing about the parser's health
+        Callable<CvAnalysis> guarded = Bulkhead.decorateCallable(bulkhead,
+                CircuitBreaker.decorateCallable(circuitBreaker,
+                        TimeLimiter.decorateFutureSupplier(timeLimiter, async)));
+
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+            return guarded.call();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw new CvParserUnavailableException(e.getMessage(), e);
+        } catch (RuntimeException e) {
+            log.error("[CvParserClient] Analysis failed for {}: {}", applicationId, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("[CvParserClient] Analysis failed for {}: {}", applicationId, e.getMessage());
+            throw new IllegalStateException("cv-parser call failed: " + e.getMessage(), e);
+        }
+    }
 
-            ByteArrayResource fileResource = new ByteArrayResource(cvFile) {
-                @Override
-                public String getFilename() { return filename; }
-            };
+    private CvAnalysis post(UUID applicationId, Resource cvFile, String filename, String githubUrl) {
+        String url = cvParserUrl + "/api/cv-parser/analyze";
 
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("application_id", applicationId.toString());
-            body.add("filename", filename);
-            body.add("file", fileResource);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
 
-            if (githubUrl != null && !githubUrl.isBlank()) {
-                body.add("github_url", githubUrl);
-            }
+        HttpHeaders fileHeaders = new HttpHeaders();
+        fileHeaders.setContentType(MediaType.APPLICATION_PDF);
+        fileHeaders.setContentDisposition(ContentDisposition.formData().name("file").filename(filename).build());
 
-            HttpEntity<MultiValueMap<String, Object>> request = new HttpEntity<>(body, headers);
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("application_id", applicationId.toString());
+        body.add("filename", filename);
+        body.add("file", new HttpEntity<>(cvFile, fileHeaders));
 
-            return mapToCvAnalysis(response.getBody(), applicationId);
+        if (githubUrl != null && !githubUrl.isBlank()) {
+            body.add("github_url", githubUrl);
+        }
 
-        } catch (Exception e) {
-            log.error("[CvParserClient] Analysis failed for {}: {}", applicationId, e.getMessage());
-            CvAnalysis failed = new CvAnalysis();
-            failed.setApplicationId(applicationId);
-            failed.setParsingStatus("FAILED");
-            failed.setErrorMessage("CV parsing failed: " + e.getMessage());
-            return failed;
+        HttpEntity<MultiValueMap<String, Object>> request = new HttpEntity<>(body, headers);
+        // decoded by Jackson straight from the response stream into the typed records
+        ResponseEntity<CvParserResponse> response;
+        try {
+            response = restTemplate.postForEntity(url, request, CvParserResponse.class);
+        } catch (HttpClientErrorException e) {
+            if (!CvParserResilienceConfig.isClientError(e)) throw e;
+            // the parser rejected this CV: sending it again gets the same answer
+            log.error("[CvParserClient] cv-parser rejected {}: {}", applicationId, e.getStatusCode());
+            return failed(applicationId, "cv-parser rejected the CV: " + e.getStatusCode());
+        } catch (RestClientException e) {
+            if (!(e.getCause() instanceof HttpMessageNotReadableException)) throw e;
+            // the parser answered, but not with the expected contract: retrying won't help
+            log.error("[CvParserClient] Unreadable response for {}: {}", applicationId, e.getMessage());
+            return failed(applicationId, "Mapping failed: " + e.getMostSpecificCause().getMessage());
         }
+
+        return mapToCvAnalysis(response.getBody(), applicationId);
     }
 
-    @SuppressWarnings("unchecked")
-    private CvAnalysis mapToCvAnalysis(Map<?, ?> data, UUID applicationId) {
+    /** Copies a decoded parser response into a new (unsaved) CvAnalysis. */
+    public static CvAnalysis mapToCvAnalysis(CvParserResponse data, UUID applicationId) {
         if (data == null) {
-            CvAnalysis empty = new CvAnalysis();
-            empty.setApplicationId(applicationId);
-            empty.setParsingStatus("FAILED");
-            empty.setErrorMessage("Empty response from cv-parser-service");
-            return empty;
+            return failed(applicationId, "Empty response from cv-parser-service");
         }
 
-        try {
-            CvAnalysis analysis = new CvAnalysis();
-            analysis.setApplicationId(applicationId);
-            Object statusObj = data.get("parsing_status");
-            analysis.setParsingStatus(statusObj instanceof String s ? s : "SUCCESS");
-            analysis.setErrorMessage((String) data.get("error_message"));
-            analysis.setCandidateName((String) data.get("candidate_name"));
-            analysis.setEmail((String) data.get("email"));
-            analysis.setPhone((String) data.get("phone"));
-            analysis.setLocation((String) data.get("location"));
-            analysis.setSummary((String) data.get("summary"));
-            analysis.setDesiredPosition((String) data.get("desired_position"));
-            analysis.setAvailability((String) data.get("availability"));
-            analysis.setSeniorityLevel((String) data.get("seniority_level"));
-            analysis.setRawTextLength((Integer) data.get("raw_text_length"));
-            analysis.setAnalyzedAt(java.time.Instant.now());
-
-            Object totalYears = data.get("total_years_experience");
-            if (totalYears instanceof Number) {
-                analysis.setTotalYearsExperience(((Number) totalYears).floatValue());
-            }
-
-            // Social links
-            Map<?, ?> socialRaw = (Map<?, ?>) data.get("social_links");
-            if (socialRaw != null) {
-                analysis.setSocialLinks(new CvAnalysis.SocialLinksEmbedded(
-                        (String) socialRaw.get("linkedin"),
-                        (String) socialRaw.get("github"),
-                        (String) socialRaw.get("portfolio")
-                ));
-            }
-
-            // Simple list fields
-            analysis.setSkills(castList(data.get("skills")));
-            analysis.setSoftSkills(castList(data.get("soft_skills")));
-            analysis.setCertifications(castList(data.get("certifications")));
-            analysis.setAwards(castList(data.get("awards")));
-
-            // Languages
-            List<?> langsRaw = (List<?>) data.get("languages");
-            if (langsRaw != null) {
-                analysis.setLanguages(langsRaw.stream()
-                        .filter(l -> l instanceof Map)
-                        .map(l -> {
-                            Map<?, ?> m = (Map<?, ?>) l;
-                            return new CvAnalysis.LanguageEmbedded(
-                                    (String) m.get("name"),
-                                    (String) m.get("level")
-                            );
-                        }).toList());
-            }
-
-            // Work experience
-            List<?> expRaw = (List<?>) data.get("work_experience");
-            if (expRaw != null) {
-                analysis.setWorkExperience(expRaw.stream()
-                        .filter(e -> e instanceof Map)
-                        .map(e -> {
-                            Map<?, ?> m = (Map<?, ?>) e;
-                            return new CvAnalysis.WorkExperienceEmbedded(
-                                    (String) m.get("title"),
-                                    (String) m.get("company"),
-                                    (String) m.get("duration"),
-                                    (String) m.get("description"),
-                                    castList(m.get("skills_used"))
-                            );
-                        }).toList());
-            }
-
-            // Education
-            List<?> eduRaw = (List<?>) data.get("education");
-            if (eduRaw != null) {
-                analysis.setEducation(eduRaw.stream()
-                        .filter(e -> e instanceof Map)
-                        .map(e -> {
-                            Map<?, ?> m = (Map<?, ?>) e;
-                            return new CvAnalysis.EducationEmbedded(
-                                    (String) m.get("degree"),
-                                    (String) m.get("institution"),
-                                    (String) m.get("year"),
-                                    (String) m.get("field"),
-                                    (String) m.get("mention")
-                            );
-                        }).toList());
-            }
-
-            // Hackathons
-            List<?> hackRaw = (List<?>) data.get("hackathons");
-            if (hackRaw != null) {
-                analysis.setHackathons(hackRaw.stream()
-                        .filter(h -> h instanceof Map)
-                        .map(h -> {
-                            Map<?, ?> m = (Map<?, ?>) h;
-                            return new CvAnalysis.HackathonEmbedded(
-                                    (String) m.get("title"),
-                                    (String) m.get("rank"),
-                                    (String) m.get("date"),
-                                    (String) m.get("description"),
-                                    castList(m.get("skills_used"))
-                            );
-                        }).toList());
-            }
-
-            // Projects
-            List<?> projRaw = (List<?>) data.get("projects");
-            if (projRaw != null) {
-                analysis.setProjects(projRaw.stream()
-                        .filter(p -> p instanceof Map)
-                        .map(p -> {
-                            Map<?, ?> m = (Map<?, ?>) p;
-                            return new CvAnalysis.ProjectEmbedded(
-                                    (String) m.get("title"),
-                                    (String) m.get("description"),
-                                    castList(m.get("skills_used")),
-                                    (String) m.get("url")
-                            );
-                        }).toList());
-            }
-
-            // Volunteer work
-            List<?> volRaw = (List<?>) data.get("volunteer_work");
-            if (volRaw != null) {
-                analysis.setVolunteerWork(volRaw.stream()
-                        .filter(v -> v instanceof Map)
-                        .map(v -> {
-                            Map<?, ?> m = (Map<?, ?>) v;
-                            return new CvAnalysis.VolunteerWorkEmbedded(
-                                    (String) m.get("role"),
-                                    (String) m.get("organization"),
-                                    (String) m.get("duration"),
-                                    (String) m.get("description")
-                            );
-                        }).toList());
-            }
-
-            // GitHub profile
-            Map<?, ?> ghRaw = (Map<?, ?>) data.get("github_profile");
-            if (ghRaw != null) {
-                analysis.setGithubProfile(mapGitHubProfile(ghRaw));
-            }
-
-            // Evaluation
-            Map<?, ?> evalRaw = (Map<?, ?>) data.get("evaluation");
-            if (evalRaw != null) {
-                analysis.setEvaluation(mapEvaluation(evalRaw));
-            }
-
-            return analysis;
+        CvAnalysis analysis = new CvAnalysis();
+        analysis.setApplicationId(applicationId);
+        analysis.setParsingStatus(data.parsingStatus() != null ? data.parsingStatus() : "SUCCESS");
+        analysis.setErrorMessage(data.errorMessage());
+        analysis.setCandidateName(data.candidateName());
+        analysis.setEmail(data.email());
+        analysis.setPhone(data.phone());
+        analysis.setLocation(data.location());
+        analysis.setSummary(data.summary());
+        analysis.setDesiredPosition(data.desiredPosition());
+        analysis.setAvailability(data.availability());
+        analysis.setSeniorityLevel(data.seniorityLevel());
+        analysis.setRawTextLength(data.rawTextLength());
+        analysis.setTotalYearsExperience(data.totalYearsExperience());
+        analysis.setAnalyzedAt(Instant.now());
+
+        // Social links
+        CvParserResponse.SocialLinks social = data.socialLinks();
+        if (social != null) {
+            analysis.setSocialLinks(new CvAnalysis.SocialLinksEmbedded(
+                    social.linkedin(), social.github(), social.portfolio()));
+        }
 
-        } catch (Exception e) {
-            log.error("[CvParserClient] Mapping failed: {}", e.getMessage());
-            CvAnalysis failed = new CvAnalysis();
-            failed.setApplicationId(applicationId);
-            failed.setParsingStatus("FAILED");
-            failed.setErrorMessage("Mapping failed: " + e.getMessage());
-            return failed;
+        // Simple list fields (already List<String>, no copy needed)
+        analysis.setSkills(data.skills());
+        analysis.setSoftSkills(data.softSkills());
+        analysis.setCertifications(data.certifications());
+        analysis.setAwards(data.awards());
+
+        // Languages
+        if (data.languages() != null) {
+            analysis.setLanguages(map(data.languages(), l -> new CvAnalysis.LanguageEmbedded(l.name(), l.level())));
+        }
+
+        // Work experience
+        if (data.workExperience() != null) {
+            analysis.setWorkExperience(map(data.workExperience(), e -> new CvAnalysis.WorkExperienceEmbedded(
+                    e.title(), e.company(), e.duration(), e.description(), e.skillsUsed())));
+        }
+
+        // Education
+        if (data.education() != null) {
+            analysis.setEducation(map(data.education(), e -> new CvAnalysis.EducationEmbedded(
+                    e.degree(), e.institution(), e.year(), e.field(), e.mention())));
+        }
+
+        // Hackathons
+        if (data.hackathons() != null) {
+            analysis.setHackathons(map(data.hackathons(), h -> new CvAnalysis.HackathonEmbedded(
+                    h.title(), h.rank(), h.date(), h.description(), h.skillsUsed())));
+        }
+
+        // Projects
+        if (data.projects() != null) {
+            analysis.setProjects(map(data.projects(), p -> new CvAnalysis.ProjectEmbedded(
+                    p.title(), p.description(), p.skillsUsed(), p.url())));
+        }
+
+        // Volunteer work
+        if (data.volunteerWork() != null) {
+            analysis.setVolunteerWork(map(data.volunteerWork(), v -> new CvAnalysis.VolunteerWorkEmbedded(
+                    v.role(), v.organization(), v.duration(), v.description())));
         }
+
+        // GitHub profile
+        if (data.githubProfile() != null) {
+            analysis.setGithubProfile(mapGitHubProfile(data.githubProfile()));
+        }
+
+        // Evaluation
+        if (data.evaluation() != null) {
+            analysis.setEvaluation(mapEvaluation(data.evaluation()));
+        }
+
+        return analysis;
     }
 
-    @SuppressWarnings("unchecked")
-    private CvAnalysis.GitHubProfileEmbedded mapGitHubProfile(Map<?, ?> gh) {
-        if (gh == null) return null;
+    private static CvAnalysis.GitHubProfileEmbedded mapGitHubProfile(CvParserResponse.GitHubProfile gh) {
         CvAnalysis.GitHubProfileEmbedded profile = new CvAnalysis.GitHubProfileEmbedded();
-        profile.setUsername((String) gh.get("username"));
-        profile.setAccountUrl((String) gh.get("account_url"));
-        profile.setName((String) gh.get("name"));
-        profile.setBio((String) gh.get("bio"));
-        profile.setLocation((String) gh.get("location"));
-        profile.setPublicReposCount(toInt(gh.get("public_repos_count")));
-        profile.setOwnReposCount(toInt(gh.get("own_repos_count")));
-        profile.setForkedReposCount(toInt(gh.get("forked_repos_count")));
-        profile.setAccountAgeDays(toInt(gh.get("account_age_days")));
-        profile.setFollowers(toInt(gh.get("followers")));
-        profile.setLastActive((String) gh.get("last_active"));
-        // top_languages removed — no longer in Python response
-        profile.setAllTechnologies(castList(gh.get("all_technologies")));
-        profile.setAllRepoFrameworks(castList(gh.get("all_repo_frameworks")));
-        profile.setTotalStars(toInt(gh.get("total_stars")));
-        profile.setRealReposCount(toInt(gh.get("real_repos_count")));
-        profile.setGithubScore((String) gh.get("github_score"));
+        profile.setUsername(gh.username());
+        profile.setAccountUrl(gh.accountUrl());
+        profile.setName(gh.name());
+        profile.setBio(gh.bio());
+        profile.setLocation(gh.location());
+        profile.setPublicReposCount(gh.publicReposCount());
+        profile.setOwnReposCount(gh.ownReposCount());
+        profile.setForkedReposCount(gh.forkedReposCount());
+        profile.setAccountAgeDays(gh.accountAgeDays());
+        profile.setFollowers(gh.followers());
+        profile.setLastActive(gh.lastActive());
+        profile.setAllTechnologies(gh.allTechnologies());
+        profile.setAllRepoFrameworks(gh.allRepoFrameworks());
+        profile.setTotalStars(gh.totalStars());
+        profile.setRealReposCount(gh.realReposCount());
+        profile.setGithubScore(gh.githubScore());
         // CV skills verification
-        profile.setCvSkillsConfirmed(castList(gh.get("cv_skills_confirmed")));
-        profile.setCvSkillsLikely(castList(gh.get("cv_skills_likely")));
-        profile.setCvSkillsNoEvidence(castList(gh.get("cv_skills_no_evidence")));
-        // New profile-level fields
-        profile.setConsistentRepos(castList(gh.get("consistent_repos")));
-        profile.setRecentlyActiveRepos(toInt(gh.get("recently_active_repos")));
-        Object avgOwn = gh.get("avg_ownership_ratio");
-        if (avgOwn instanceof Number) {
-            profile.setAvgOwnershipRatio(((Number) avgOwn).floatValue());
-        }
+        profile.setCvSkillsConfirmed(gh.cvSkillsConfirmed());
+        profile.setCvSkillsLikely(gh.cvSkillsLikely());
+        profile.setCvSkillsNoEvidence(gh.cvSkillsNoEvidence());
+        profile.setConsistentRepos(gh.consistentRepos());
+        profile.setRecentlyActiveRepos(gh.recentlyActiveRepos());
+        profile.setAvgOwnershipRatio(gh.avgOwnershipRatio());
 
         // Collaboration
-        Map<?, ?> collabRaw = (Map<?, ?>) gh.get("collaboration");
-        if (collabRaw != null) {
+        CvParserResponse.Collaboration collab = gh.collaboration();
+        if (collab != null) {
             profile.setCollaboration(new CvAnalysis.CollaborationEmbedded(
-                    toInt(collabRaw.get("active_forks_count")),
-                    castList(collabRaw.get("collaborated_repos")),
-                    (Boolean) collabRaw.get("has_collaboration")
-            ));
+                    collab.activeForksCount(), collab.collaboratedRepos(), collab.hasCollaboration()));
         }
 
         // Scored repos
-        List<?> reposRaw = (List<?>) gh.get("scored_repos");
-        if (reposRaw != null) {
-            profile.setScoredRepos(reposRaw.stream()
-                    .filter(r -> r instanceof Map)
-                    .map(r -> mapGitHubRepo((Map<?, ?>) r))
-                    .toList());
+        if (gh.scoredRepos() != null) {
+            profile.setScoredRepos(map(gh.scoredRepos(), CvParserClient::mapGitHubRepo));
         }
         return profile;
     }
 
-    @SuppressWarnings("unchecked")
-    private CvAnalysis.GitHubRepoEmbedded mapGitHubRepo(Map<?, ?> r) {
+    private static CvAnalysis.GitHubRepoEmbedded mapGitHubRepo(CvParserResponse.GitHubRepo r) {
         CvAnalysis.GitHubRepoEmbedded repo = new CvAnalysis.GitHubRepoEmbedded();
-        repo.setName((String) r.get("name"));
-        repo.setDescription((String) r.get("description"));
-        repo.setLanguage((String) r.get("language"));
-        repo.setAllLanguages(castList(r.get("all_languages")));
-        repo.setFrameworks(castList(r.get("frameworks")));
-        repo.setTechnologies(castList(r.get("technologies")));
-        repo.setStars(toInt(r.get("stars")));
-        repo.setUrl((String) r.get("url"));
-        repo.setIsFork((Boolean) r.get("is_fork"));
-        repo.setSizeKb(toInt(r.get("size_kb")));
-        repo.setCommitCount(toInt(r.get("commit_count")));
-        repo.setBranchCount(toInt(r.get("branch_count")));
-        repo.setDaysOfActivity(toInt(r.get("days_of_activity")));
-        repo.setLastPushed((String) r.get("last_pushed"));
-        repo.setTopics(castList(r.get("topics")));
-        repo.setScore(toInt(r.get("score")));
-        repo.setIsReal((Boolean) r.get("is_real"));
-        repo.setScoreReasons(castList(r.get("score_reasons")));
-        // New repo-level fields
-        Object ownershipRatio = r.get("ownership_ratio");
-        if (ownershipRatio instanceof Number) {
-            repo.setOwnershipRatio(((Number) ownershipRatio).floatValue());
-        }
-        repo.setComplexityScore(toInt(r.get("complexity_score")));
-        repo.setComplexityLabel((String) r.get("complexity_label"));
-        repo.setComplexityReasons(castList(r.get("complexity_reasons")));
+        repo.setName(r.name());
+        repo.setDescription(r.description());
+        repo.setLanguage(r.language());
+        repo.setAllLanguages(r.allLanguages());
+        repo.setFrameworks(r.frameworks());
+        repo.setTechnologies(r.technologies());
+        repo.setStars(r.stars());
+        repo.setUrl(r.url());
+        repo.setIsFork(r.isFork());
+        repo.setSizeKb(r.sizeKb());
+        repo.setCommitCount(r.commitCount());
+        repo.setBranchCount(r.branchCount());
+        repo.setDaysOfActivity(r.daysOfActivity());
+        repo.setLastPushed(r.lastPushed());
+        repo.setTopics(r.topics());
+        repo.setScore(r.score());
+        repo.setIsReal(r.isReal());
+        repo.setScoreReasons(r.scoreReasons());
+        repo.setOwnershipRatio(r.ownershipRatio());
+        repo.setComplexityScore(r.complexityScore());
+        repo.setComplexityLabel(r.complexityLabel());
+        repo.setComplexityReasons(r.complexityReasons());
 
         // CommitActivity
-        Map<?, ?> actRaw = (Map<?, ?>) r.get("commit_activity");
-        if (actRaw != null) {
-            CvAnalysis.CommitActivityEmbedded act = new CvAnalysis.CommitActivityEmbedded();
-            act.setActiveWeeks(toInt(actRaw.get("active_weeks")));
-            act.setRecentWeeksActive(toInt(actRaw.get("recent_weeks_active")));
-            act.setLongestStreak(toInt(actRaw.get("longest_streak")));
-            act.setIsConsistent((Boolean) actRaw.get("is_consistent"));
-            act.setRecentlyActive((Boolean) actRaw.get("recently_active"));
-            act.setDaysSincePush(toInt(actRaw.get("days_since_push")));
-            // weekly_counts is List<Integer>
-            Object wc = actRaw.get("weekly_counts");
-            if (wc instanceof List<?> wcList) {
-                act.setWeeklyCounts(wcList.stream()
-                        .filter(v -> v instanceof Number)
-                        .map(v -> ((Number) v).intValue())
-                        .toList());
-            }
-            repo.setCommitActivity(act);
+        CvParserResponse.CommitActivity a = r.commitActivity();
+        if (a != null) {
+            repo.setCommitActivity(new CvAnalysis.CommitActivityEmbedded(
+                    a.weeklyCounts(), a.activeWeeks(), a.recentWeeksActive(), a.longestStreak(),
+                    a.isConsistent(), a.recentlyActive(), a.daysSincePush()));
         }
         return repo;
     }
 
-    @SuppressWarnings("unchecked")
-    private CvAnalysis.CvEvaluationEmbedded mapEvaluation(Map<?, ?> ev) {
+    private static CvAnalysis.CvEvaluationEmbedded mapEvaluation(CvParserResponse.Evaluation ev) {
         CvAnalysis.CvEvaluationEmbedded eval = new CvAnalysis.CvEvaluationEmbedded();
-        eval.setMissingSections(castList(ev.get("missing_sections")));
-        eval.setStructureWarnings(castList(ev.get("structure_warnings")));
-        eval.setSpellingWarnings(castList(ev.get("spelling_warnings")));
-        eval.setDateWarnings(castList(ev.get("date_warnings")));
-        eval.setGapWarnings(castList(ev.get("gap_warnings")));
-        eval.setProfileStrengths(castList(ev.get("profile_strengths")));
-        eval.setProfileWeaknesses(castList(ev.get("profile_weaknesses")));
-        eval.setRecruiterInsights(castList(ev.get("recruiter_insights")));
-        eval.setLikelyTyposCount(toInt(ev.get("likely_typos_count")));
-        eval.setExperienceGapCount(toInt(ev.get("experience_gap_count")));
-        eval.setIncompleteExperienceEntriesCount(toInt(ev.get("incomplete_experience_entries_count")));
-        eval.setIncompleteEducationEntriesCount(toInt(ev.get("incomplete_education_entries_count")));
-        eval.setHasEmail((Boolean) ev.get("has_email"));
-        eval.setHasPhone((Boolean) ev.get("has_phone"));
-        eval.setHasLinkedin((Boolean) ev.get("has_linkedin"));
-        eval.setHasGithub((Boolean) ev.get("has_github"));
-        eval.setHasPortfolio((Boolean) ev.get("has_portfolio"));
-        eval.setHasProjects((Boolean) ev.get("has_projects"));
-        eval.setHasExperience((Boolean) ev.get("has_experience"));
-        eval.setHasEducation((Boolean) ev.get("has_education"));
-        eval.setHasSkills((Boolean) ev.get("has_skills"));
-        eval.setHasLanguages((Boolean) ev.get("has_languages"));
-
-        Map<?, ?> sigRaw = (Map<?, ?>) ev.get("evidence_signals");
-        if (sigRaw != null) {
-            CvAnalysis.EvidenceSignalsEmbedded signals = new CvAnalysis.EvidenceSignalsEmbedded();
-            signals.setTechnicalEvidence((String) sigRaw.get("technical_evidence"));
-            signals.setProjectEvidence((String) sigRaw.get("project_evidence"));
-            signals.setLeadershipEvidence((String) sigRaw.get("leadership_evidence"));
-            signals.setCompetitionEvidence((String) sigRaw.get("competition_evidence"));
-            signals.setPublicPortfolioEvidence((String) sigRaw.get("public_portfolio_evidence"));
-            signals.setGithubActivityEvidence((String) sigRaw.get("github_activity_evidence"));
-            eval.setEvidenceSignals(signals);
+        eval.setMissingSections(ev.missingSections());
+        eval.setStructureWarnings(ev.structureWarnings());
+        eval.setSpellingWarnings(ev.spellingWarnings());
+        eval.setDateWarnings(ev.dateWarnings());
+        eval.setGapWarnings(ev.gapWarnings());
+        eval.setProfileStrengths(ev.profileStrengths());
+        eval.setProfileWeaknesses(ev.profileWeaknesses());
+        eval.setRecruiterInsights(ev.recruiterInsights());
+        eval.setLikelyTyposCount(ev.likelyTyposCount());
+        eval.setExperienceGapCount(ev.experienceGapCount());
+        eval.setIncompleteExperienceEntriesCount(ev.incompleteExperienceEntriesCount());
+        eval.setIncompleteEducationEntriesCount(ev.incompleteEducationEntriesCount());
+        eval.setHasEmail(ev.hasEmail());
+        eval.setHasPhone(ev.hasPhone());
+        eval.setHasLinkedin(ev.hasLinkedin());
+        eval.setHasGithub(ev.hasGithub());
+        eval.setHasPortfolio(ev.hasPortfolio());
+        eval.setHasProjects(ev.hasProjects());
+        eval.setHasExperience(ev.hasExperience());
+        eval.setHasEducation(ev.hasEducation());
+        eval.setHasSkills(ev.hasSkills());
+        eval.setHasLanguages(ev.hasLanguages());
+
+        CvParserResponse.EvidenceSignals s = ev.evidenceSignals();
+        if (s != null) {
+            eval.setEvidenceSignals(new CvAnalysis.EvidenceSignalsEmbedded(
+                    s.technicalEvidence(), s.projectEvidence(), s.leadershipEvidence(),
+                    s.competitionEvidence(), s.publicPortfolioEvidence(), s.githubActivityEvidence()));
         }
         return eval;
     }
 
-    @SuppressWarnings("unchecked")
-    private List<String> castList(Object raw) {
-        if (raw instanceof List<?> list) {
-            return list.stream()
-                    .filter(item -> item instanceof String)
-                    .map(item -> (String) item)
-                    .toList();
-        }
-        return List.of();
+    private static CvAnalysis failed(UUID applicationId, String error) {
+        CvAnalysis failed = new CvAnalysis();
+        failed.setApplicationId(applicationId);
+        failed.setParsingStatus("FAILED");
+        failed.setErrorMessage(error);
+        return failed;
     }
 
-    private Integer toInt(Object val) {
-        if (val instanceof Number n) return n.intValue();
-        return null;
+    // sized up front; null entries (JSON null in an array) are dropped like the old Map walk did
+    private static <T, R> List<R> map(List<T> source, Function<T, R> mapper) {
+        List<R> out = new ArrayList<>(source.size());
+        for (T item : source) {
+            if (item != null) out.add(mapper.apply(item));
+        }
+        return out;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,268 @@
+package com.recrutment.application.clients;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The cv-parser-service /api/cv-parser/analyze response, as Jackson decodes it straight
+ * off the HTTP stream. Unknown fields are ignored so the parser can add fields first.
+ * Missing string lists come back as empty lists, like the old Map-based mapping did.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CvParserResponse(
+        @JsonProperty("parsing_status") String parsingStatus,
+        @JsonProperty("error_message") String errorMessage,
+        @JsonProperty("candidate_name") String candidateName,
+        @JsonProperty("email") String email,
+        @JsonProperty("phone") String phone,
+        @JsonProperty("location") String location,
+        @JsonProperty("summary") String summary,
+        @JsonProperty("desired_position") String desiredPosition,
+        @JsonProperty("availability") String availability,
+        @JsonProperty("seniority_level") String seniorityLevel,
+        @JsonProperty("raw_text_length") Integer rawTextLength,
+        @JsonProperty("total_years_experience") Float totalYearsExperience,
+        @JsonProperty("social_links") SocialLinks socialLinks,
+        @JsonProperty("skills") List<String> skills,
+        @JsonProperty("soft_skills") List<String> softSkills,
+        @JsonProperty("certifications") List<String> certifications,
+        @JsonProperty("awards") List<String> awards,
+        @JsonProperty("languages") List<Language> languages,
+        @JsonProperty("work_experience") List<WorkExperience> workExperience,
+        @JsonProperty("education") List<Education> education,
+        @JsonProperty("hackathons") List<Hackathon> hackathons,
+        @JsonProperty("projects") List<Project> projects,
+        @JsonProperty("volunteer_work") List<VolunteerWork> volunteerWork,
+        @JsonProperty("github_profile") GitHubProfile githubProfile,
+        @JsonProperty("evaluation") Evaluation evaluation
+) {
+    public CvParserResponse {
+        skills = orEmpty(skills);
+        softSkills = orEmpty(softSkills);
+        certifications = orEmpty(certifications);
+        awards = orEmpty(awards);
+    }
+
+    static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record SocialLinks(
+            @JsonProperty("linkedin") String linkedin,
+            @JsonProperty("github") String github,
+            @JsonProperty("portfolio") String portfolio
+    ) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Language(
+            @JsonProperty("name") String name,
+            @JsonProperty("level") String level
+    ) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record WorkExperience(
+            @JsonProperty("title") String title,
+            @JsonProperty("company") String company,
+            @JsonProperty("duration") String duration,
+            @JsonProperty("description") String description,
+            @JsonProperty("skills_used") List<String> skillsUsed
+    ) {
+        public WorkExperience {
+            skillsUsed = orEmpty(skillsUsed);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Education(
+            @JsonProperty("degree") String degree,
+            @JsonProperty("institution") String institution,
+            @JsonProperty("year") String year,
+            @JsonProperty("field") String field,
+            @JsonProperty("mention") String mention
+    ) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Hackathon(
+            @JsonProperty("title") String title,
+            @JsonProperty("rank") String rank,
+            @JsonProperty("date") String date,
+            @JsonProperty("description") String description,
+            @JsonProperty("skills_used") List<String> skillsUsed
+    ) {
+        public Hackathon {
+            skillsUsed = orEmpty(skillsUsed);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Project(
+            @JsonProperty("title") String title,
+            @JsonProperty("description") String description,
+            @JsonProperty("skills_used") List<String> skillsUsed,
+            @JsonProperty("url") String url
+    ) {
+        public Project {
+            skillsUsed = orEmpty(skillsUsed);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record VolunteerWork(
+            @JsonProperty("role") String role,
+            @JsonProperty("organization") String organization,
+            @JsonProperty("duration") String duration,
+            @JsonProperty("description") String description
+    ) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record GitHubProfile(
+            @JsonProperty("username") String username,
+            @JsonProperty("account_url") String accountUrl,
+            @JsonProperty("name") String name,
+            @JsonProperty("bio") String bio,
+            @JsonProperty("location") String location,
+            @JsonProperty("public_repos_count") Integer publicReposCount,
+            @JsonProperty("own_repos_count") Integer ownReposCount,
+            @JsonProperty("forked_repos_count") Integer forkedReposCount,
+            @JsonProperty("account_age_days") Integer accountAgeDays,
+            @JsonProperty("followers") Integer followers,
+            @JsonProperty("last_active") String lastActive,
+            @JsonProperty("all_technologies") List<String> allTechnologies,
+            @JsonProperty("all_repo_frameworks") List<String> allRepoFrameworks,
+            @JsonProperty("total_stars") Integer totalStars,
+            @JsonProperty("real_repos_count") Integer realReposCount,
+            @JsonProperty("github_score") String githubScore,
+            @JsonProperty("cv_skills_confirmed") List<String> cvSkillsConfirmed,
+            @JsonProperty("cv_skills_likely") List<String> cvSkillsLikely,
+            @JsonProperty("cv_skills_no_evidence") List<String> cvSkillsNoEvidence,
+            @JsonProperty("consistent_repos") List<String> consistentRepos,
+            @JsonProperty("recently_active_repos") Integer recentlyActiveRepos,
+            @JsonProperty("avg_ownership_ratio") Float avgOwnershipRatio,
+            @JsonProperty("collaboration") Collaboration collaboration,
+            @JsonProperty("scored_repos") List<GitHubRepo> scoredRepos
+    ) {
+        public GitHubProfile {
+            allTechnologies = orEmpty(allTechnologies);
+            allRepoFrameworks = orEmpty(allRepoFrameworks);
+            cvSkillsConfirmed = orEmpty(cvSkillsConfirmed);
+            cvSkillsLikely = orEmpty(cvSkillsLikely);
+            cvSkillsNoEvidence = orEmpty(cvSkillsNoEvidence);
+            consistentRepos = orEmpty(consistentRepos);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Collaboration(
+            @JsonProperty("active_forks_count") Integer activeForksCount,
+            @JsonProperty("collaborated_repos") List<String> collaboratedRepos,
+            @JsonProperty("has_collaboration") Boolean hasCollaboration
+    ) {
+        public Collaboration {
+            collaboratedRepos = orEmpty(collaboratedRepos);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record GitHubRepo(
+            @JsonProperty("name") String name,
+            @JsonProperty("description") String description,
+            @JsonProperty("language") String language,
+            @JsonProperty("all_languages") List<String> allLanguages,
+            @JsonProperty("frameworks") List<String> frameworks,
+            @JsonProperty("technologies") List<String> technologies,
+            @JsonProperty("stars") Integer stars,
+            @JsonProperty("url") String url,
+            @JsonProperty("is_fork") Boolean isFork,
+            @JsonProperty("size_kb") Integer sizeKb,
+            @JsonProperty("commit_count") Integer commitCount,
+            @JsonProperty("branch_count") Integer branchCount,
+            @JsonProperty("days_of_activity") Integer daysOfActivity,
+            @JsonProperty("last_pushed") String lastPushed,
+            @JsonProperty("topics") List<String> topics,
+            @JsonProperty("score") Integer score,
+            @JsonProperty("is_real") Boolean isReal,
+            @JsonProperty("score_reasons") List<String> scoreReasons,
+            @JsonProperty("ownership_ratio") Float ownershipRatio,
+            @JsonProperty("complexity_score") Integer complexityScore,
+            @JsonProperty("complexity_label") String complexityLabel,
+            @JsonProperty("complexity_reasons") List<String> complexityReasons,
+            @JsonProperty("commit_activity") CommitActivity commitActivity
+    ) {
+        public GitHubRepo {
+            allLanguages = orEmpty(allLanguages);
+            frameworks = orEmpty(frameworks);
+            technologies = orEmpty(technologies);
+            topics = orEmpty(topics);
+            scoreReasons = orEmpty(scoreReasons);
+            complexityReasons = orEmpty(complexityReasons);
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record CommitActivity(
+            @JsonProperty("weekly_counts") List<Integer> weeklyCounts,
+            @JsonProperty("active_weeks") Integer activeWeeks,
+            @JsonProperty("recent_weeks_active") Integer recentWeeksActive,
+            @JsonProperty("longest_streak") Integer longestStreak,
+            @JsonProperty("is_consistent") Boolean isConsistent,
+            @JsonProperty("recently_active") Boolean recentlyActive,
+            @JsonProperty("days_since_push") Integer daysSincePush
+    ) {
+        public CommitActivity {
+            // a JSON null in the array is dropped, so callers can unbox every count
+            weeklyCounts = orEmpty(weeklyCounts).stream().filter(Objects::nonNull).toList();
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record EvidenceSignals(
+            @JsonProperty("technical_evidence") String technicalEvidence,
+            @JsonProperty("project_evidence") String projectEvidence,
+            @JsonProperty("leadership_evidence") String leadershipEvidence,
+            @JsonProperty("competition_evidence") String competitionEvidence,
+            @JsonProperty("public_portfolio_evidence") String publicPortfolioEvidence,
+            @JsonProperty("github_activity_evidence") String githubActivityEvidence
+    ) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Evaluation(
+            @JsonProperty("missing_sections") List<String> missingSections,
+            @JsonProperty("structure_warnings") List<String> structureWarnings,
+            @JsonProperty("spelling_warnings") List<String> spellingWarnings,
+            @JsonProperty("date_warnings") List<String> dateWarnings,
+            @JsonProperty("gap_warnings") List<String> gapWarnings,
+            @JsonProperty("profile_strengths") List<String> profileStrengths,
+            @JsonProperty("profile_weaknesses") List<String> profileWeaknesses,
+            @JsonProperty("recruiter_insights") List<String> recruiterInsights,
+            @JsonProperty("likely_typos_count") Integer likelyTyposCount,
+            @JsonProperty("experience_gap_count") Integer experienceGapCount,
+            @JsonProperty("incomplete_experience_entries_count") Integer incompleteExperienceEntriesCount,
+            @JsonProperty("incomplete_education_entries_count") Integer incompleteEducationEntriesCount,
+            @JsonProperty("has_email") Boolean hasEmail,
+            @JsonProperty("has_phone") Boolean hasPhone,
+            @JsonProperty("has_linkedin") Boolean hasLinkedin,
+            @JsonProperty("has_github") Boolean hasGithub,
+            @JsonProperty("has_portfolio") Boolean hasPortfolio,
+            @JsonProperty("has_projects") Boolean hasProjects,
+            @JsonProperty("has_experience") Boolean hasExperience,
+            @JsonProperty("has_education") Boolean hasEducation,
+            @JsonProperty("has_skills") Boolean hasSkills,
+            @JsonProperty("has_languages") Boolean hasLanguages,
+            @JsonProperty("evidence_signals") EvidenceSignals evidenceSignals
+    ) {
+        public Evaluation {
+            missingSections = orEmpty(missingSections);
+            structureWarnings = orEmpty(structureWarnings);
+            spellingWarnings = orEmpty(spellingWarnings);
+            dateWarnings = orEmpty(dateWarnings);
+            gapWarnings = orEmpty(gapWarnings);
+            profileStrengths = orEmpty(profileStrengths);
+            profileWeaknesses = orEmpty(profileWeaknesses);
+            recruiterInsights = orEmpty(recruiterInsights);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.recrutment.application.clients;
+
+/**
+ * The cv-parser call was not attempted: the circuit is open or the bulkhead is full.
+ * Nothing is wrong with the CV itself, so the analysis should be parked and retried
+ * later rather than counted as a failure.
+ */
+public class CvParserUnavailableException extends RuntimeException {
+
+    public CvParserUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
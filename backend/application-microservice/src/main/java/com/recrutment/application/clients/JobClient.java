@@ -2,14 +2,23 @@ package com.recrutment.application.clients;
 
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -17,18 +26,24 @@ import java.util.UUID;
 public class JobClient {
 
     private final RestTemplate restTemplate;
+    private final Cache<UUID, JobDto> jobCache;
 
-    public JobClient(RestTemplate restTemplate) {
+    public JobClient(@Qualifier("jobRestTemplate") RestTemplate restTemplate, Cache<UUID, JobDto> jobCache) {
         this.restTemplate = restTemplate;
+        this.jobCache = jobCache;
     }
 
     public JobDto getJob(UUID id) {
+        JobDto cached = jobCache.getIfPresent(id);
+        if (cached != null) return cached;
+
         String url = "http://gateway:8888/api/jobs/" + id;
 
         try {
             log.info("[JobClient] GET {}", url);
             ResponseEntity<JobDto> resp = restTemplate.getForEntity(url, JobDto.class);
             log.info("[JobClient] Status={} body={}", resp.getStatusCode(), resp.getBody());
+            if (resp.getBody() != null) jobCache.put(id, resp.getBody());
             return resp.getBody();
 
         } catch (HttpStatusCodeException e) {
@@ -43,6 +58,46 @@ public class JobClient {
         }
     }
 
+    /**
+     * Resolve several jobs with a single call to /api/jobs/batch.
+     * Returns a map keyed by job id; ids the job service doesn't know are simply absent.
+     * Only the ids missing from the near-cache are sent over the wire.
+     */
+    public Map<UUID, JobDto> getJobs(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) return Map.of();
+
+        Map<UUID, JobDto> byId = new HashMap<>(jobCache.getAllPresent(ids));
+        List<UUID> missing = ids.stream().filter(id -> !byId.containsKey(id)).distinct().toList();
+        if (missing.isEmpty()) return byId;
+
+        String url = UriComponentsBuilder.fromUriString("http://gateway:8888/api/jobs/batch")
+                .queryParam("ids", missing.toArray())
+                .toUriString();
+
+        try {
+            log.info("[JobClient] GET {} ({} ids)", "/api/jobs/batch", missing.size());
+            ResponseEntity<List<JobDto>> resp = restTemplate.exchange(
+                    url, HttpMethod.GET, null, new ParameterizedTypeReference<List<JobDto>>() {});
+            if (resp.getBody() != null) {
+                for (JobDto job : resp.getBody()) {
+                    if (job != null && job.getId() != null) {
+                        byId.put(job.getId(), job);
+                        jobCache.put(job.getId(), job);
+                    }
+                }
+            }
+
+        } catch (HttpStatusCodeException e) {
+            log.error("[JobClient] HTTP error calling {} -> status={} body={}",
+                    url, e.getStatusCode(), e.getResponseBodyAsString(), e);
+
+        } catch (ResourceAccessException e) {
+            log.error("[JobClient] Network error calling {} -> {}",
+                    url, e.getMessage(), e);
+        }
+        return byId;
+    }
+
     @JsonIgnoreProperties(ignoreUnknown = true)
     @Data
     public static class JobDto {
@@ -53,5 +108,18 @@ public class JobClient {
 
         @JsonAlias({"title", "jobTitle", "name"})
         private String title;
+
+        // weighted requirements, used by CandidateRankingService
+        private List<RequirementDto> requirements;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @Data
+    public static class RequirementDto {
+        private String category;     // SKILL / EXPERIENCE / EDUCATION / CERTIFICATION / LANGUAGE
+        private String description;
+        private Double weight;
+        private Integer minYears;
+        private Integer maxYears;
     }
 }
@@ -1,30 +1,46 @@
 package com.recrutment.application.clients;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
 public class UserClient {
 
     private final RestTemplate restTemplate;
+    private final Cache<String, KcUser> userCache;
 
-    public UserClient(RestTemplate restTemplate) {
+    public UserClient(@Qualifier("userRestTemplate") RestTemplate restTemplate, Cache<String, KcUser> userCache) {
         this.restTemplate = restTemplate;
+        this.userCache = userCache;
     }
 
     public KcUser getUser(String id) {
+        KcUser cached = userCache.getIfPresent(id);
+        if (cached != null) return cached;
+
         String url = "http://gateway:8888/api/admin/users/" + id;
 
         try {
             log.info("[UserClient] GET {}", url);
             ResponseEntity<KcUser> resp = restTemplate.getForEntity(url, KcUser.class);
             log.info("[UserClient] Status={} body={}", resp.getStatusCode(), resp.getBody());
+            if (resp.getBody() != null) userCache.put(id, resp.getBody());
             return resp.getBody();
 
         } catch (HttpStatusCodeException e) {
@@ -35,6 +51,63 @@ public class UserClient {
         }
     }
 
+    /**
+     * Resolve several users with a single call to /api/admin/users/batch.
+     * Returns a map keyed by user id; unknown ids are simply absent.
+     * Only the ids missing from the near-cache are sent over the wire.
+     */
+    public Map<String, KcUser> getUsers(Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) return Map.of();
+
+        Map<String, KcUser> byId = new HashMap<>(userCache.getAllPresent(ids));
+        List<String> missing = ids.stream().filter(id -> !byId.containsKey(id)).distinct().toList();
+        if (missing.isEmpty()) return byId;
+
+        String url = UriComponentsBuilder.fromUriString("http://gateway:8888/api/admin/users/batch")
+                .queryParam("ids", missing.toArray())
+                .toUriString();
+
+        try {
+            log.info("[UserClient] GET {} ({} ids)", "/api/admin/users/batch", missing.size());
+            ResponseEntity<List<KcUser>> resp = restTemplate.exchange(
+                    url, HttpMethod.GET, null, new ParameterizedTypeReference<List<KcUser>>() {});
+            if (resp.getBody() != null) {
+                for (KcUser user : resp.getBody()) {
+                    if (user != null && user.getId() != null) {
+                        byId.put(user.getId(), user);
+                        userCache.put(user.getId(), user);
+                    }
+                }
+            }
+
+        } catch (HttpStatusCodeException e) {
+            log.error("[UserClient] HTTP error calling {} -> status={} body={}",
+                    url, e.getStatusCode(), e.getResponseBodyAsString(), e);
+        }
+        return byId;
+    }
+
+    /**
+     * Name/email lookup through the gateway's internal endpoint.
+     * Works without a user JWT (e.g. from a Rabbit listener), but carries no username.
+     */
+    public KcUser getInternalProfile(String id) {
+        String url = "http://gateway:8888/api/admin/internal/users/" + id + "/email";
+
+        try {
+            log.info("[UserClient] GET {}", url);
+            ResponseEntity<KcUser> resp = restTemplate.getForEntity(url, KcUser.class);
+            KcUser user = resp.getBody();
+            if (user != null) user.setId(id);
+            return user;
+
+        } catch (HttpStatusCodeException e) {
+            log.error("[UserClient] HTTP error calling {} -> status={} body={}",
+                    url, e.getStatusCode(), e.getResponseBodyAsString(), e);
+            return null;
+        }
+    }
+
     @JsonIgnoreProperties(ignoreUnknown = true)
     @Data
     public static class KcUser {
@@ -49,5 +122,11 @@ public class UserClient {
             String ln = lastName == null ? "" : lastName.trim();
             return (fn + " " + ln).trim();
         }
+
+        // what recruiters see: full name, falling back to the username
+        public String getDisplayName() {
+            String full = getFullName();
+            return full.isBlank() ? username : full;
+        }
     }
 }
@@ -0,0 +1,116 @@
+package com.recrutment.application.config;
+
+import com.recrutment.application.messaging.CvAnalysisQueue;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Durable work queue for CV analysis (see CvAnalysisQueue / CvAnalysisJobListener).
+ *
+ * Every replica consumes the same queue, so throughput grows with the replica count and
+ * a restart only returns unacked jobs to the queue. A failed job is re-published to a
+ * delay queue whose TTL dead-letters it back to the work queue; there is one delay queue
+ * per backoff step, named after its delay, so changing the backoff settings declares new
+ * queues instead of clashing with the arguments of the existing ones. Jobs that are out
+ * of attempts, or that the listener could not handle at all, end up in the DLQ and can be
+ * re-driven from /api/applications/admin/cv-analysis/redrive.
+ *
+ * Gauges: cv.analysis.queue.depth, cv.analysis.dlq.depth (broker message counts).
+ */
+@Configuration
+public class CvAnalysisQueueConfig {
+
+    @Value("${app.cv-analysis.consumers:4}")
+    private int consumers;
+
+    @Value("${app.cv-analysis.virtual-threads:true}")
+    private boolean virtualThreads;
+
+    @Bean
+    public CvAnalysisQueue.Settings cvAnalysisQueueSettings(
+            @Value("${app.cv-analysis.exchange:cv.analysis}") String exchange,
+            @Value("${app.cv-analysis.queue:cv.analysis.jobs}") String queue,
+            @Value("${app.cv-analysis.dlq:cv.analysis.dlq}") String deadLetterQueue,
+            @Value("${app.cv-analysis.retry.max-attempts:5}") int maxAttempts,
+            @Value("${app.cv-analysis.retry.initial-delay-ms:10000}") long initialDelayMs,
+            @Value("${app.cv-analysis.retry.multiplier:3.0}") double multiplier,
+            @Value("${app.cv-analysis.retry.max-delay-ms:1800000}") long maxDelayMs,
+            @Value("${app.cv-analysis.park-delay-ms:30000}") long parkDelayMs
+    ) {
+        return new CvAnalysisQueue.Settings(exchange, queue, deadLetterQueue,
+                maxAttempts, initialDelayMs, multiplier, maxDelayMs, parkDelayMs);
+    }
+
+    @Bean
+    public Declarables cvAnalysisTopology(CvAnalysisQueue.Settings settings) {
+        List<Declarable> declarables = new ArrayList<>();
+
+        DirectExchange exchange = new DirectExchange(settings.exchange(), true, false);
+        declarables.add(exchange);
+
+        Queue work = QueueBuilder.durable(settings.queue())
+                .deadLetterExchange(settings.exchange())
+                .deadLetterRoutingKey(settings.deadLetterQueue())
+                .build();
+        declarables.add(work);
+        declarables.add(BindingBuilder.bind(work).to(exchange).with(settings.queue()));
+
+        Queue dlq = QueueBuilder.durable(settings.deadLetterQueue()).build();
+        declarables.add(dlq);
+        declarables.add(BindingBuilder.bind(dlq).to(exchange).with(settings.deadLetterQueue()));
+
+        for (int attempt = 1; attempt < settings.maxAttempts(); attempt++) {
+            long delay = settings.delayMs(attempt);
+            Queue retry = QueueBuilder.durable(settings.retryQueue(attempt))
+                    .ttl((int) delay)
+                    .deadLetterExchange(settings.exchange())
+                    .deadLetterRoutingKey(settings.queue())
+                    .build();
+            declarables.add(retry);
+            declarables.add(BindingBuilder.bind(retry).to(exchange).with(settings.retryQueue(attempt)));
+        }
+        // jobs the parser couldn't take (circuit open / bulkhead full) wait here
+        Queue parking = QueueBuilder.durable(settings.parkingQueue())
+                .ttl((int) settings.parkDelayMs())
+                .deadLetterExchange(settings.exchange())
+                .deadLetterRoutingKey(settings.queue())
+                .build();
+        declarables.add(parking);
+        declarables.add(BindingBuilder.bind(parking).to(exchange).with(settings.parkingQueue()));
+
+        return new Declarables(declarables);
+    }
+
+    // prefetch 1: an analysis takes seconds, so don't let one replica hoard jobs
+    // while the others sit idle
+    @Bean
+    public SimpleRabbitListenerContainerFactory cvAnalysisListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory
+    ) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(consumers);
+        factory.setMaxConcurrentConsumers(consumers);
+        factory.setPrefetchCount(1);
+        factory.setDefaultRequeueRejected(false);
+        if (virtualThreads) {
+            factory.setTaskExecutor(new VirtualThreadTaskExecutor("cv-analysis-"));
+        }
+        return factory;
+    }
+}
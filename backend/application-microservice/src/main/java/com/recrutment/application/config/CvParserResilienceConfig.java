@@ -0,0 +1,146 @@
+package com.recrutment.application.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedTimeLimiterMetrics;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Resilience policies for CvParserClient.
+ *
+ * - circuit breaker: opens when too many recent calls fail or are slow, then lets
+ *   app.cv-parser.circuit.half-open-calls probe calls through after the open wait
+ * - bulkhead: caps concurrent parser calls; extra callers are rejected immediately
+ * - time limiter: upper bound on a whole call, whatever the socket is doing
+ *
+ * A 4xx answer is about the request (a bad or unreadable CV), not the parser's health,
+ * so it doesn't count towards the failure rate; 408 and 429 still do. A normal LLM parse
+ * takes tens of seconds, so the slow-call threshold (2 min) sits well above that and
+ * below the time limit: only a parser that is really struggling trips it.
+ *
+ * Rejected calls surface as CvParserUnavailableException and the analysis is parked
+ * (see CvAnalysisJobListener). Metrics: resilience4j.circuitbreaker.* / bulkhead.* /
+ * timelimiter.* with name=cv-parser, plus cv.parser.circuit.transitions{from,to}
+ * and cv.parser.rejected{reason}.
+ */
+@Configuration
+@Slf4j
+public class CvParserResilienceConfig {
+
+    private static final String NAME = "cv-parser";
+
+    @Value("${app.cv-parser.circuit.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${app.cv-parser.circuit.slow-call-threshold-ms:120000}")
+    private long slowCallThresholdMs;
+
+    @Value("${app.cv-parser.circuit.window-size:20}")
+    private int windowSize;
+
+    @Value("${app.cv-parser.circuit.minimum-calls:5}")
+    private int minimumCalls;
+
+    @Value("${app.cv-parser.circuit.open-wait-ms:30000}")
+    private long openWaitMs;
+
+    @Value("${app.cv-parser.circuit.half-open-calls:1}")
+    private int halfOpenCalls;
+
+    @Value("${app.cv-parser.bulkhead.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Value("${app.cv-parser.time-limit-ms:150000}")
+    private long timeLimitMs;
+
+    @Bean
+    public CircuitBreaker cvParserCircuitBreaker(MeterRegistry meterRegistry) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallThresholdMs))
+                .slowCallRateThreshold(failureRateThreshold)
+                .waitDurationInOpenState(Duration.ofMillis(openWaitMs))
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .ignoreException(CvParserResilienceConfig::isClientError)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        CircuitBreaker breaker = registry.circuitBreaker(NAME);
+        breaker.getEventPublisher()
+                .onStateTransition(e -> {
+                    log.warn("cv-parser circuit {}", e.getStateTransition());
+                    meterRegistry.counter("cv.parser.circuit.transitions",
+                            "from", e.getStateTransition().getFromState().name(),
+                            "to", e.getStateTransition().getToState().name()).increment();
+                })
+                .onCallNotPermitted(e -> meterRegistry.counter("cv.parser.rejected", "reason", "circuit-open").increment());
+        return breaker;
+    }
+
+    /** 4xx other than 408/429: the request itself is wrong, so retrying it won't help. */
+    public static boolean isClientError(Throwable e) {
+        if (!(e instanceof HttpClientErrorException clientError)) return false;
+        int status = clientError.getStatusCode().value();
+        return status != HttpStatus.REQUEST_TIMEOUT.value() && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    // runs the blocking HTTP calls so the time limiter can give up on them; on shutdown
+    // in-flight calls are interrupted rather than awaited for up to the time limit
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService cvParserCallExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public Bulkhead cvParserBulkhead(MeterRegistry meterRegistry) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrent)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+
+        Bulkhead bulkhead = registry.bulkhead(NAME);
+        bulkhead.getEventPublisher()
+                .onCallRejected(e -> meterRegistry.counter("cv.parser.rejected", "reason", "bulkhead-full").increment());
+        return bulkhead;
+    }
+
+    @Bean
+    public TimeLimiter cvParserTimeLimiter(MeterRegistry meterRegistry) {
+        TimeLimiterConfig config = TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(timeLimitMs))
+                .cancelRunningFuture(true)
+                .build();
+
+        TimeLimiterRegistry registry = TimeLimiterRegistry.of(config);
+        TaggedTimeLimiterMetrics.ofTimeLimiterRegistry(registry).bindTo(meterRegistry);
+        return registry.timeLimiter(NAME);
+    }
+}
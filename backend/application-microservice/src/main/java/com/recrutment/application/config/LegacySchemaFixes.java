@@ -0,0 +1,71 @@
+package com.recrutment.application.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * ddl-auto=update adds columns but never relaxes constraints.
+ * Statements here must be idempotent; failures are logged, not fatal.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LegacySchemaFixes implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // CVs now live in CvStorageService; cv_file is unmapped and only read by CvBlobMigrationService.
+        // A fresh schema never had it, so create it empty: the legacy paths then simply find nothing
+        exec("ALTER TABLE application ADD COLUMN IF NOT EXISTS cv_file bytea");
+        exec("ALTER TABLE application ALTER COLUMN cv_file DROP NOT NULL");
+
+        // CvAnalysis is versioned now: drop the old one-row-per-application unique
+        // constraint (generated name) and number the existing rows as version 1
+        exec("""
+                DO $$
+                DECLARE c text;
+                BEGIN
+                    FOR c IN
+                        SELECT con.conname
+                        FROM pg_constraint con
+                        JOIN pg_class rel ON rel.oid = con.conrelid
+                        JOIN pg_attribute att ON att.attrelid = rel.oid AND att.attname = 'application_id'
+                        WHERE rel.relname = 'cv_analysis' AND con.contype = 'u' AND con.conkey = ARRAY[att.attnum]
+                    LOOP
+                        EXECUTE 'ALTER TABLE cv_analysis DROP CONSTRAINT ' || quote_ident(c);
+                    END LOOP;
+                END $$
+                """);
+        exec("UPDATE cv_analysis SET version = 1 WHERE version IS NULL");
+
+        // application search matches title / name fragments anywhere (LIKE '%x%'), which a
+        // b-tree can't serve: trigram GIN indexes instead. Needs the pg_trgm extension
+        // (CREATE privilege on the database); without it the search still works, by scan
+        exec("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        exec("CREATE INDEX IF NOT EXISTS idx_job_title_snapshot_title_trgm "
+                + "ON job_title_snapshot USING GIN (title_lower gin_trgm_ops)");
+        exec("CREATE INDEX IF NOT EXISTS idx_candidate_name_snapshot_name_trgm "
+                + "ON candidate_name_snapshot USING GIN (display_name_lower gin_trgm_ops)");
+        // the b-tree indexes they replace
+        exec("DROP INDEX IF EXISTS idx_job_title_snapshot_title_lower");
+        exec("DROP INDEX IF EXISTS idx_candidate_name_snapshot_name_lower");
+
+        // at most one running CV backfill, whatever the number of instances starting one
+        exec("CREATE UNIQUE INDEX IF NOT EXISTS uq_cv_backfill_job_running ON cv_backfill_job (status) "
+                + "WHERE status = 'RUNNING'");
+    }
+
+    private void exec(String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (Exception e) {
+            log.warn("Schema fix skipped ({}): {}", sql, e.getMessage());
+        }
+    }
+}
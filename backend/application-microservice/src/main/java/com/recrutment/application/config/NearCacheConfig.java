@@ -0,0 +1,128 @@
+package com.recrutment.application.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.recrutment.application.clients.JobClient;
+import com.recrutment.application.clients.UserClient;
+import com.recrutment.application.services.CandidateScorer;
+import com.recrutment.application.services.JobRankingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local caches in front of JobClient / UserClient.
+ * Job titles and candidate names rarely change, so list screens read them from here
+ * instead of going through the gateway for every row.
+ * Entries expire after a TTL and are also dropped on JOB_* / ROLE_UPDATE events
+ * (see ReferenceDataEventsListener). Hit/miss/eviction counters show up under
+ * /actuator/metrics/cache.* with cache=jobs|users.
+ * The ranking caches (cache=candidate-vectors|job-rankings) sit next to them.
+ */
+@Configuration
+public class NearCacheConfig {
+
+    @Value("${app.cache.jobs.max-size:10000}")
+    private long jobsMaxSize;
+
+    @Value("${app.cache.jobs.ttl-minutes:30}")
+    private long jobsTtlMinutes;
+
+    @Value("${app.cache.users.max-size:50000}")
+    private long usersMaxSize;
+
+    @Value("${app.cache.users.ttl-minutes:30}")
+    private long usersTtlMinutes;
+
+    @Value("${app.ranking.vector-cache.max-size:100000}")
+    private long vectorsMaxSize;
+
+    @Value("${app.ranking.jobs.max-size:200}")
+    private long rankingsMaxSize;
+
+    @Value("${app.ranking.jobs.idle-minutes:60}")
+    private long rankingsIdleMinutes;
+
+    @Value("${app.ranking.jobs.max-age-minutes:360}")
+    private long rankingsMaxAgeMinutes;
+
+    @Bean
+    public Cache<UUID, JobClient.JobDto> jobCache(MeterRegistry registry) {
+        Cache<UUID, JobClient.JobDto> cache = Caffeine.newBuilder()
+                .maximumSize(jobsMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(jobsTtlMinutes))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(registry, cache, "jobs");
+    }
+
+    @Bean
+    public Cache<String, UserClient.KcUser> userCache(MeterRegistry registry) {
+        Cache<String, UserClient.KcUser> cache = Caffeine.newBuilder()
+                .maximumSize(usersMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(usersTtlMinutes))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(registry, cache, "users");
+    }
+
+    // keyed by analysis id, and analyses are immutable: nothing to expire or invalidate
+    @Bean
+    public Cache<UUID, CandidateScorer.CandidateVector> candidateVectorCache(MeterRegistry registry) {
+        Cache<UUID, CandidateScorer.CandidateVector> cache = Caffeine.newBuilder()
+                .maximumSize(vectorsMaxSize)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(registry, cache, "candidate-vectors");
+    }
+
+    // size-bounded, and jobs nobody looked at for a while are dropped first
+    @Bean
+    public Cache<UUID, JobRankingCache.JobRanking> jobRankingCache(MeterRegistry registry) {
+        Cache<UUID, JobRankingCache.JobRanking> cache = Caffeine.newBuilder()
+                .maximumSize(rankingsMaxSize)
+                .expireAfter(rankingExpiry(Duration.ofMinutes(rankingsIdleMinutes), Duration.ofMinutes(rankingsMaxAgeMinutes)))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(registry, cache, "job-rankings");
+    }
+
+    // background rebuilds of changed rankings; on shutdown they are interrupted, not awaited
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService jobRankingRebuildExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    // idle like expireAfterAccess, but never past max-age from the last full build:
+    // incremental updates replace the value, so plain expireAfterWrite would keep a busy job forever
+    static Expiry<UUID, JobRankingCache.JobRanking> rankingExpiry(Duration idle, Duration maxAge) {
+        long idleNanos = idle.toNanos();
+        long maxAgeNanos = maxAge.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(UUID jobId, JobRankingCache.JobRanking ranking, long currentTime) {
+                return Math.min(idleNanos, Math.max(0, ranking.builtAt() + maxAgeNanos - currentTime));
+            }
+
+            @Override
+            public long expireAfterUpdate(UUID jobId, JobRankingCache.JobRanking ranking,
+                                          long currentTime, long currentDuration) {
+                return expireAfterCreate(jobId, ranking, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(UUID jobId, JobRankingCache.JobRanking ranking,
+                                        long currentTime, long currentDuration) {
+                return expireAfterCreate(jobId, ranking, currentTime);
+            }
+        };
+    }
+}
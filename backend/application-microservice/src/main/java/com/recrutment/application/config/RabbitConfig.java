@@ -0,0 +1,67 @@
+package com.recrutment.application.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitConfig {
+
+    @Value("${app.messaging.exchange}")
+    private String exchangeName;
+
+    @Value("${app.messaging.snapshot-queue:application.snapshots}")
+    private String snapshotQueueName;
+
+    @Bean
+    public TopicExchange appEventsExchange() {
+        return new TopicExchange(exchangeName, true, false);
+    }
+
+    // one auto-delete queue per instance: every replica must see every
+    // invalidation to keep its own near-cache fresh
+    @Bean
+    public Queue referenceDataQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding referenceDataJobBinding(Queue referenceDataQueue, TopicExchange appEventsExchange) {
+        // JOB_CREATED / JOB_UPDATED
+        return BindingBuilder.bind(referenceDataQueue).to(appEventsExchange).with("audit.job");
+    }
+
+    @Bean
+    public Binding referenceDataUserBinding(Queue referenceDataQueue, TopicExchange appEventsExchange) {
+        // ROLE_UPDATE / USER_BLOCK / USER_UNBLOCK
+        return BindingBuilder.bind(referenceDataQueue).to(appEventsExchange).with("audit.user");
+    }
+
+    @Bean
+    public Binding referenceDataRankingBinding(Queue referenceDataQueue, TopicExchange appEventsExchange) {
+        // CV_ANALYSIS_SAVED: every replica keeps its own job rankings
+        return BindingBuilder.bind(referenceDataQueue).to(appEventsExchange).with("ranking.application");
+    }
+
+    // shared durable queue: snapshot writes only need to happen once per event
+    @Bean
+    public Queue snapshotQueue() {
+        return QueueBuilder.durable(snapshotQueueName).build();
+    }
+
+    @Bean
+    public Binding snapshotJobBinding(Queue snapshotQueue, TopicExchange appEventsExchange) {
+        return BindingBuilder.bind(snapshotQueue).to(appEventsExchange).with("audit.job");
+    }
+
+    @Bean
+    public Binding snapshotUserBinding(Queue snapshotQueue, TopicExchange appEventsExchange) {
+        return BindingBuilder.bind(snapshotQueue).to(appEventsExchange).with("audit.user");
+    }
+}
@@ -2,21 +2,69 @@ package com.recrutment.application.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * One pooled client per downstream (job, user, cv-parser), on Reactor Netty which is
+ * already on the classpath through webflux. Each client has its own connection pool,
+ * so a slow cv-parser can't starve job/user lookups and vice versa.
+ *
+ * Per client, under app.http.<job|user|cv-parser>:
+ *   max-connections      pool size, i.e. max concurrent requests to that route
+ *   max-pending          callers allowed to wait for a connection; beyond that they fail fast
+ *   acquire-timeout-ms   how long a caller waits for a connection
+ *   connect-timeout-ms / read-timeout-ms
+ *   protocols            HTTP11 and/or H2C (cleartext HTTP/2, used when the peer accepts the upgrade)
+ *
+ * Idle connections are kept warm and reused, so the TCP handshake is off the hot path.
+ * Pool gauges are exported as reactor.netty.connection.provider.* tagged with the pool name.
+ */
 @Configuration
 public class RestClientConfig {
 
-    @Bean
-    public RestTemplate restTemplate() {
+    private final Environment env;
+
+    public RestClientConfig(Environment env) {
+        this.env = env;
+    }
 
-        RestTemplate rt = new RestTemplate();
+    @Bean("jobRestTemplate")
+    public RestTemplate jobRestTemplate() {
+        RestTemplate rt = new RestTemplate(pooled("job", 50, 5_000, "HTTP11,H2C"));
+        rt.getInterceptors().add(authInterceptor());
+        return rt;
+    }
 
-        ClientHttpRequestInterceptor authInterceptor = (request, body, execution) -> {
+    @Bean("userRestTemplate")
+    public RestTemplate userRestTemplate() {
+        RestTemplate rt = new RestTemplate(pooled("user", 50, 5_000, "HTTP11,H2C"));
+        rt.getInterceptors().add(authInterceptor());
+        return rt;
+    }
+
+    // sans JWT — pour services internes.
+    // LLM parsing takes a while, hence the long read timeout; the small pool is what
+    // bounds how many callers can be stuck on the parser at once.
+    // HTTP/1.1 only: the parser doesn't speak h2c, no point attempting an upgrade on every upload.
+    @Bean("cvParserRestTemplate")
+    public RestTemplate cvParserRestTemplate() {
+        return new RestTemplate(pooled("cv-parser", 16, 180_000, "HTTP11"));
+    }
+
+    private ClientHttpRequestInterceptor authInterceptor() {
+        return (request, body, execution) -> {
 
             var auth = SecurityContextHolder.getContext().getAuthentication();
 
@@ -26,13 +74,35 @@ public class RestClientConfig {
 
             return execution.execute(request, body);
         };
+    }
 
-        rt.getInterceptors().add(authInterceptor);
+    private ReactorClientHttpRequestFactory pooled(String name, int defaultMaxConnections,
+                                                   int defaultReadTimeoutMs, String defaultProtocols) {
+        String prefix = "app.http." + name + ".";
+        int maxConnections = env.getProperty(prefix + "max-connections", Integer.class, defaultMaxConnections);
+        int maxPending = env.getProperty(prefix + "max-pending", Integer.class, maxConnections * 2);
+        long acquireTimeoutMs = env.getProperty(prefix + "acquire-timeout-ms", Long.class, 5_000L);
+        int connectTimeoutMs = env.getProperty(prefix + "connect-timeout-ms", Integer.class, 2_000);
+        long readTimeoutMs = env.getProperty(prefix + "read-timeout-ms", Long.class, (long) defaultReadTimeoutMs);
+        HttpProtocol[] protocols = Arrays.stream(env.getProperty(prefix + "protocols", defaultProtocols).split(","))
+                .map(p -> HttpProtocol.valueOf(p.trim().toUpperCase()))
+                .toArray(HttpProtocol[]::new);
 
-        return rt;
-    }
-    @Bean("plainRestTemplate")
-    public RestTemplate plainRestTemplate() {
-        return new RestTemplate(); // sans JWT — pour services internes
+        ConnectionProvider provider = ConnectionProvider.builder(name)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPending)
+                .pendingAcquireTimeout(Duration.ofMillis(acquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .maxLifeTime(Duration.ofMinutes(5))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+
+        HttpClient client = HttpClient.create(provider).protocol(protocols);
+
+        ReactorClientHttpRequestFactory factory = new ReactorClientHttpRequestFactory(client);
+        factory.setConnectTimeout(Duration.ofMillis(connectTimeoutMs));
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return factory;
     }
 }
@@ -0,0 +1,24 @@
+package com.recrutment.application.dto;
+
+import com.recrutment.application.enums.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankedCandidateDto {
+    private int rank;               // 1-based, across all pages
+    private UUID applicationId;
+    private String candidateUserId;
+    private String candidateName;
+    private ApplicationStatus status;
+
+    private Double score;           // 0-100, null while the CV has not been analyzed
+    private List<String> matched;   // requirement descriptions the candidate (partly) meets
+    private List<String> missing;
+}
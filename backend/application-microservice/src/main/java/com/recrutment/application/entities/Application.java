@@ -6,9 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
-import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -38,9 +36,12 @@ public class Application {
 
     private Instant appliedAt;
 
-    @JdbcTypeCode(SqlTypes.VARBINARY)
-    @Column(name = "cv_file", nullable = false)
-    private byte[] cvFile;
+    // SHA-256 of the CV content, its key in CvStorageService.
+    // The bytes themselves never live on this entity (legacy cv_file is unmapped).
+    @Column(length = 64)
+    private String cvBlobKey;
+
+    private Long cvSize;
 
     @Column(nullable = false)
     private String cvFileName;
@@ -0,0 +1,32 @@
+package com.recrutment.application.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Local copy of a candidate's display name (Keycloak is the owner), so application
+ * search can filter by candidate name in SQL.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CandidateNameSnapshot {
+
+    // Keycloak user id (sub)
+    @Id
+    @Column(updatable = false, nullable = false)
+    private String candidateUserId;
+
+    private String displayName;
+
+    private String displayNameLower;
+
+    private Instant updatedAt;
+}
@@ -15,6 +15,11 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(
+        indexes = @Index(name = "idx_cv_analysis_cache_key", columnList = "cacheKey"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_cv_analysis_application_version",
+                columnNames = {"applicationId", "version"})
+)
 public class CvAnalysis {
 
     @Id
@@ -23,9 +28,12 @@ public class CvAnalysis {
     @Column(updatable = false, nullable = false)
     private UUID id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private UUID applicationId;
 
+    // 1 for the first analysis of an application, +1 each time its CV / GitHub URL changes
+    private Integer version;
+
     // Personal info
     private String candidateName;
     private String email;
@@ -114,6 +122,20 @@ public class CvAnalysis {
 
     private Instant analyzedAt;
 
+    // Inputs of the analysis: SHA-256 of the CV (same as Application.cvBlobKey) and
+    // SHA-256 of cvHash + GitHub URL, used to reuse results for identical inputs
+    @Column(length = 64)
+    private String cvHash;
+
+    @Column(length = 64)
+    private String cacheKey;
+
+    // app.cv-analysis.model-version at the time of the analysis (null before versions existed)
+    private String modelVersion;
+
+    // copied from an earlier analysis with the same cacheKey instead of parsed again
+    private Boolean reused;
+
     // ── Embedded value objects ────────────────────────────────────────────────
 
     @Data @NoArgsConstructor @AllArgsConstructor
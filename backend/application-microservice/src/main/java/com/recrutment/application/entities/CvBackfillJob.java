@@ -0,0 +1,55 @@
+package com.recrutment.application.entities;
+
+import com.recrutment.application.enums.BackfillStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A bulk CV re-analysis run (see CvBackfillService). The row is the checkpoint:
+ * applications are walked in application_id order and lastApplicationId is the end of
+ * the last fully processed page, so a restarted run resumes right after it.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CvBackfillJob {
+
+    @Id
+    @Column(updatable = false, nullable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BackfillStatus status;
+
+    private UUID lastApplicationId;
+
+    private long total;
+    private long processed;
+    private long analyzed;
+    private long reused;
+    private long upToDate;
+    private long failed;
+
+    private int concurrency;
+    private double requestsPerSecond;
+    private String modelVersion;
+
+    // instance currently running the job, and when it last checkpointed
+    private String owner;
+    // the run loop that owns the job: a fresh one on every start / resume / takeover,
+    // so a loop that was paused and resumed under its feet stops writing
+    private UUID runId;
+    private Instant heartbeatAt;
+
+    private Instant startedAt;
+    private Instant finishedAt;
+}
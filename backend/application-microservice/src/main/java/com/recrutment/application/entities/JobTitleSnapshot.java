@@ -0,0 +1,33 @@
+package com.recrutment.application.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Local copy of a job's title, owned by job-microservice and kept current from
+ * JOB_CREATED / JOB_UPDATED events, so application search can filter by title in SQL.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobTitleSnapshot {
+
+    @Id
+    @Column(updatable = false, nullable = false)
+    private UUID jobId;
+
+    private String title;
+
+    // lower-cased title, what the search predicate runs against (trigram index, see LegacySchemaFixes)
+    private String titleLower;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,5 @@
+package com.recrutment.application.enums;
+
+public enum BackfillStatus {
+    RUNNING, PAUSED, COMPLETED
+}
@@ -0,0 +1,33 @@
+package com.recrutment.application.enums;
+
+import java.util.List;
+
+/**
+ * Groups of CvAnalysis columns a screen can ask for with ?fields=section:name on
+ * /api/applications/{id}/analysis (a bare name is a single column: SUMMARY holds the
+ * summary column, among others). Values are entity attribute names.
+ */
+public enum CvAnalysisSection {
+    SUMMARY(List.of("candidateName", "desiredPosition", "seniorityLevel", "summary", "totalYearsExperience")),
+    CONTACT(List.of("email", "phone", "location", "availability", "socialLinks")),
+    SKILLS(List.of("skills", "softSkills", "certifications", "awards", "languages")),
+    EXPERIENCE(List.of("workExperience")),
+    EDUCATION(List.of("education")),
+    PROJECTS(List.of("projects", "hackathons", "volunteerWork")),
+    EVALUATION(List.of("evaluation")),
+    GITHUB(List.of("githubProfile")),
+    META(List.of("errorMessage", "rawTextLength", "modelVersion", "reused"));
+
+    /** Always returned, whatever was asked for. */
+    public static final List<String> IDENTITY = List.of("applicationId", "version", "parsingStatus", "analyzedAt");
+
+    private final List<String> attributes;
+
+    CvAnalysisSection(List<String> attributes) {
+        this.attributes = attributes;
+    }
+
+    public List<String> attributes() {
+        return attributes;
+    }
+}
@@ -28,7 +28,7 @@ public class AppEventPublisher {
             if (event.getOccurredAt() == null) {
                 event.setOccurredAt(java.time.Instant.now());
             }
-            System.out.println("SENDING TO EXCHANGE = " + exchangeName + " WITH KEY = " + routingKey);
+            log.debug("Sending {} to exchange {} with key {}", event.getEventType(), exchangeName, routingKey);
             String json = objectMapper.writeValueAsString(event);
             rabbitTemplate.convertAndSend(exchangeName, routingKey, json);
         } catch (JsonProcessingException e) {
@@ -0,0 +1,53 @@
+package com.recrutment.application.messaging;
+
+import com.recrutment.application.clients.CvParserUnavailableException;
+import com.recrutment.application.services.CvAnalysisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Competing consumer of the CV analysis work queue: every replica listens on the same
+ * durable queue and the broker hands each job to one of them.
+ * A failed analysis is acked here and re-published with backoff (see CvAnalysisQueue),
+ * so a cv-parser outage delays analyses instead of losing them. Jobs the parser
+ * refused outright (open circuit, full bulkhead) are parked without using an attempt.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CvAnalysisJobListener {
+
+    private final CvAnalysisService cvAnalysisService;
+    private final CvAnalysisQueue queue;
+
+    @RabbitListener(
+            queues = "${app.cv-analysis.queue:cv.analysis.jobs}",
+            containerFactory = "cvAnalysisListenerFactory"
+    )
+    public void handle(String body,
+                       @Header(name = CvAnalysisQueue.ATTEMPT_HEADER, required = false) Integer attempt) {
+        UUID applicationId;
+        try {
+            applicationId = UUID.fromString(body.trim());
+        } catch (IllegalArgumentException e) {
+            // straight to the DLQ, retrying won't fix the payload
+            throw new AmqpRejectAndDontRequeueException("Invalid CV analysis job: " + body);
+        }
+
+        int current = attempt == null ? 1 : attempt;
+        try {
+            cvAnalysisService.analyze(applicationId);
+        } catch (CvParserUnavailableException e) {
+            queue.park(applicationId, current);
+        } catch (Exception e) {
+            log.error("CV analysis failed for application {} (attempt {}): {}", applicationId, current, e.getMessage());
+            queue.retryOrDeadLetter(applicationId, current, e.getMessage());
+        }
+    }
+}
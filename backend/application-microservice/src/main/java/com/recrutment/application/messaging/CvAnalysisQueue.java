@@ -0,0 +1,157 @@
+package com.recrutment.application.messaging;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Producer side of the CV analysis work queue (topology in CvAnalysisQueueConfig).
+ * A job is just the application id as the message body plus an attempt counter header.
+ */
+@Component
+@Slf4j
+public class CvAnalysisQueue {
+
+    public static final String ATTEMPT_HEADER = "x-cv-attempt";
+    public static final String ERROR_HEADER = "x-cv-error";
+
+    public record Settings(
+            String exchange,
+            String queue,
+            String deadLetterQueue,
+            int maxAttempts,
+            long initialDelayMs,
+            double multiplier,
+            long maxDelayMs,
+            long parkDelayMs
+    ) {
+        /** Backoff before attempt {@code failedAttempt + 1}. */
+        public long delayMs(int failedAttempt) {
+            double delay = initialDelayMs * Math.pow(multiplier, failedAttempt - 1);
+            return (long) Math.min(delay, maxDelayMs);
+        }
+
+        public String retryQueue(int failedAttempt) {
+            return queue + ".retry." + delayMs(failedAttempt) + "ms";
+        }
+
+        public String parkingQueue() {
+            return queue + ".parked." + parkDelayMs + "ms";
+        }
+    }
+
+    private final RabbitTemplate rabbitTemplate;
+    private final AmqpAdmin amqpAdmin;
+    private final Settings settings;
+    private final Counter parked;
+
+    public CvAnalysisQueue(RabbitTemplate rabbitTemplate, AmqpAdmin amqpAdmin, Settings settings, MeterRegistry registry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.amqpAdmin = amqpAdmin;
+        this.settings = settings;
+        this.parked = registry.counter("cv.analysis.parked");
+
+        Gauge.builder("cv.analysis.queue.depth", this, q -> q.messageCount(settings.queue()))
+                .description("CV analyses waiting on the broker")
+                .register(registry);
+        Gauge.builder("cv.analysis.dlq.depth", this, q -> q.messageCount(settings.deadLetterQueue()))
+                .description("CV analyses that ran out of attempts")
+                .register(registry);
+    }
+
+    public Settings settings() {
+        return settings;
+    }
+
+    public void enqueue(UUID applicationId) {
+        send(settings.queue(), applicationId, 1, null);
+    }
+
+    /** Schedules the next attempt, or parks the job in the DLQ once it is out of attempts. */
+    public void retryOrDeadLetter(UUID applicationId, int failedAttempt, String error) {
+        if (failedAttempt >= settings.maxAttempts()) {
+            log.warn("CV analysis for application {} failed {} times, moving it to {}",
+                    applicationId, failedAttempt, settings.deadLetterQueue());
+            send(settings.deadLetterQueue(), applicationId, failedAttempt, error);
+        } else {
+            log.info("CV analysis for application {} failed (attempt {}), retrying in {} ms",
+                    applicationId, failedAttempt, settings.delayMs(failedAttempt));
+            send(settings.retryQueue(failedAttempt), applicationId, failedAttempt + 1, error);
+        }
+    }
+
+    /**
+     * The parser wasn't even called (circuit open, bulkhead full): hold the job for
+     * parkDelayMs and put it back without using up an attempt.
+     */
+    public void park(UUID applicationId, int attempt) {
+        parked.increment();
+        log.info("cv-parser unavailable, parking CV analysis for application {} for {} ms",
+                applicationId, settings.parkDelayMs());
+        send(settings.parkingQueue(), applicationId, attempt, null);
+    }
+
+    /**
+     * Moves up to {@code max} jobs from the DLQ back onto the work queue with a fresh
+     * attempt count. Each message is acked only once it has been re-published.
+     */
+    public int redrive(int max) {
+        Integer moved = rabbitTemplate.execute(channel -> {
+            int count = 0;
+            while (count < max) {
+                GetResponse response = channel.basicGet(settings.deadLetterQueue(), false);
+                if (response == null) break;
+
+                AMQP.BasicProperties props = response.getProps();
+                Map<String, Object> headers = props.getHeaders() == null
+                        ? new HashMap<>()
+                        : new HashMap<>(props.getHeaders());
+                headers.put(ATTEMPT_HEADER, 1);
+                headers.remove(ERROR_HEADER);
+
+                channel.basicPublish(settings.exchange(), settings.queue(),
+                        props.builder().headers(headers).build(), response.getBody());
+                channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+                count++;
+            }
+            return count;
+        });
+        return moved == null ? 0 : moved;
+    }
+
+    public Map<String, Long> depths() {
+        Map<String, Long> depths = new HashMap<>();
+        depths.put("queued", (long) messageCount(settings.queue()));
+        depths.put("parked", (long) messageCount(settings.parkingQueue()));
+        depths.put("deadLettered", (long) messageCount(settings.deadLetterQueue()));
+        return depths;
+    }
+
+    private void send(String routingKey, UUID applicationId, int attempt, String error) {
+        rabbitTemplate.convertAndSend(settings.exchange(), routingKey, applicationId.toString(), m -> {
+            m.getMessageProperties().setHeader(ATTEMPT_HEADER, attempt);
+            if (error != null) m.getMessageProperties().setHeader(ERROR_HEADER, error);
+            return m;
+        });
+    }
+
+    private double messageCount(String queue) {
+        try {
+            QueueInformation info = amqpAdmin.getQueueInfo(queue);
+            return info == null ? -1 : info.getMessageCount();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.recrutment.application.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.recrutment.application.clients.JobClient;
+import com.recrutment.application.clients.UserClient;
+import com.recrutment.application.services.JobRankingCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Drops near-cache entries when the owning service reports a change,
+ * so the TTL is only a safety net. A job whose requirements changed also gets its
+ * cached candidate ranking recomputed, and a saved CV analysis (analyzed by whichever
+ * replica took the job off the work queue) moves its candidate in every replica's ranking.
+ * A deleted job is dropped from both; its title snapshot is removed by SnapshotEventsListener,
+ * in order with the job's other snapshot events.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataEventsListener {
+
+    private final Cache<UUID, JobClient.JobDto> jobCache;
+    private final Cache<String, UserClient.KcUser> userCache;
+    private final JobRankingCache jobRankingCache;
+    private final ObjectMapper objectMapper;
+
+    @RabbitListener(queues = "#{referenceDataQueue.name}")
+    public void handleReferenceDataEvent(String json) {
+        AppEventMessage evt;
+        try {
+            evt = objectMapper.readValue(json, AppEventMessage.class);
+        } catch (Exception e) {
+            log.warn("Invalid JSON in reference-data event, discarding: {}", e.getMessage());
+            return;
+        }
+
+        if (evt.getEventType() == null || evt.getTarget() == null || evt.getTarget().getId() == null) {
+            return;
+        }
+        String targetId = evt.getTarget().getId();
+
+        switch (evt.getEventType()) {
+            case "JOB_CREATED", "JOB_UPDATED" -> {
+                try {
+                    UUID jobId = UUID.fromString(targetId);
+                    jobCache.invalidate(jobId);
+                    // after the invalidation, so the rebuild reads the new requirements
+                    if (evt.getChanges() != null && evt.getChanges().containsKey("requirements")) {
+                        jobRankingCache.onRequirementsChanged(jobId);
+                    }
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring {} with non-UUID target {}", evt.getEventType(), targetId);
+                }
+            }
+            case "JOB_DELETED" -> {
+                try {
+                    UUID jobId = UUID.fromString(targetId);
+                    jobCache.invalidate(jobId);
+                    jobRankingCache.onJobDeleted(jobId);
+                } catch (IllegalArgumentException e) {
+                    log.warn("Ignoring {} with non-UUID target {}", evt.getEventType(), targetId);
+                }
+            }
+            case "CV_ANALYSIS_SAVED" -> {
+                try {
+                    Map<String, Object> payload = evt.getPayload() == null ? Map.of() : evt.getPayload();
+                    Object appliedAt = payload.get("appliedAt");
+                    jobRankingCache.onAnalysis(
+                            UUID.fromString(String.valueOf(payload.get("jobId"))),
+                            UUID.fromString(targetId),
+                            UUID.fromString(String.valueOf(payload.get("analysisId"))),
+                            appliedAt == null ? null : Instant.parse(appliedAt.toString()));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    log.warn("Ignoring malformed CV_ANALYSIS_SAVED for {}: {}", targetId, e.getMessage());
+                }
+            }
+            case "ROLE_UPDATE", "USER_BLOCK", "USER_UNBLOCK" -> userCache.invalidate(targetId);
+            default -> { /* ignore */ }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.recrutment.application.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recrutment.application.services.SnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Keeps the job-title / candidate-name snapshots current. Consumes a durable
+ * shared queue, so each event is applied once across all replicas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SnapshotEventsListener {
+
+    private final SnapshotService snapshotService;
+    private final ObjectMapper objectMapper;
+
+    @RabbitListener(queues = "${app.messaging.snapshot-queue:application.snapshots}")
+    public void handleSnapshotEvent(String json) {
+        AppEventMessage evt;
+        try {
+            evt = objectMapper.readValue(json, AppEventMessage.class);
+        } catch (Exception e) {
+            log.warn("Invalid JSON in snapshot event, discarding: {}", e.getMessage());
+            return;
+        }
+
+        if (evt.getEventType() == null || evt.getTarget() == null || evt.getTarget().getId() == null) {
+            return;
+        }
+        String targetId = evt.getTarget().getId();
+
+        try {
+            switch (evt.getEventType()) {
+                case "JOB_CREATED", "JOB_UPDATED" -> {
+                    UUID jobId = UUID.fromString(targetId);
+                    Object title = evt.getPayload() != null ? evt.getPayload().get("jobTitle") : null;
+                    if (title instanceof String t) snapshotService.recordJobTitle(jobId, t);
+                    else snapshotService.refreshJob(jobId);
+                }
+                case "JOB_DELETED" -> snapshotService.forgetJob(UUID.fromString(targetId));
+                case "ROLE_UPDATE", "USER_BLOCK", "USER_UNBLOCK" -> snapshotService.refreshCandidate(targetId);
+                default -> { /* ignore */ }
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply snapshot event {} for {}: {}", evt.getEventType(), targetId, e.getMessage());
+        }
+    }
+}
@@ -3,7 +3,11 @@ package com.recrutment.application.repos;
 import com.recrutment.application.entities.Application;
 import com.recrutment.application.enums.ApplicationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,14 +16,79 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface ApplicationRepo extends JpaRepository<Application, UUID> {
-    List<Application> findByJobId(UUID jobId);
-    List<Application> findByCandidateUserId(String candidateUserId);
     Optional<Application> findByJobIdAndCandidateUserId(UUID jobId, String candidateUserId);
-    List<Application> findByStatus(ApplicationStatus status);
-
-    List<Application> findByJobIdAndStatus(UUID jobId, ApplicationStatus status);
-    List<Application> findByApplicationId(UUID applicationId);
-    Page<Application> findByStatus(ApplicationStatus status, Pageable pageable);
-    Page<Application> findByJobId(UUID jobId, Pageable pageable);
-    Page<Application> findByJobIdAndStatus(UUID jobId, ApplicationStatus status, Pageable pageable);
-}
\ No newline at end of file
+
+    // list queries: metadata columns only (see ApplicationSummary)
+    List<ApplicationSummary> findSummaryByJobId(UUID jobId);
+    List<ApplicationSummary> findSummaryByCandidateUserId(String candidateUserId);
+    List<ApplicationSummary> findSummaryByStatus(ApplicationStatus status);
+    List<ApplicationSummary> findSummaryByApplicationId(UUID applicationId);
+    List<ApplicationSummary> findSummaryByApplicationIdIn(Collection<UUID> applicationIds);
+    List<ApplicationSummary> findAllSummariesBy();
+    long countByJobId(UUID jobId);
+
+    @Query("SELECT DISTINCT a.candidateUserId FROM Application a WHERE a.jobId = :jobId")
+    List<String> findDistinctCandidateUserIdsByJobId(@Param("jobId") UUID jobId);
+
+    /**
+     * Filter + paginate in one statement, using the local job-title / candidate-name
+     * snapshots instead of enriching every application remotely.
+     *
+     * The substring matches are served by the trigram indexes on the snapshots (see
+     * LegacySchemaFixes).
+     *
+     * @param jobTitle      lower-cased fragment of the job title with % _ ! escaped by '!', or null
+     * @param candidateName lower-cased fragment of the candidate display name, escaped the same way, or null
+     */
+    @Query(value = """
+        SELECT new com.recrutment.application.repos.ApplicationSummary(
+            a.applicationId, a.jobId, a.candidateUserId, a.githubUrl,
+            a.status, a.appliedAt, a.cvFileName, a.cvContentType)
+        FROM Application a
+        LEFT JOIN JobTitleSnapshot j ON j.jobId = a.jobId
+        LEFT JOIN CandidateNameSnapshot c ON c.candidateUserId = a.candidateUserId
+        WHERE (:applicationId IS NULL OR a.applicationId = :applicationId)
+        AND (:jobId IS NULL OR a.jobId = :jobId)
+        AND (:status IS NULL OR a.status = :status)
+        AND (:jobTitle IS NULL OR j.titleLower LIKE CONCAT('%', :jobTitle, '%') ESCAPE '!')
+        AND (:candidateName IS NULL OR c.displayNameLower LIKE CONCAT('%', :candidateName, '%') ESCAPE '!')
+        ORDER BY a.appliedAt DESC, a.applicationId ASC
+        """,
+        countQuery = """
+        SELECT COUNT(a) FROM Application a
+        LEFT JOIN JobTitleSnapshot j ON j.jobId = a.jobId
+        LEFT JOIN CandidateNameSnapshot c ON c.candidateUserId = a.candidateUserId
+        WHERE (:applicationId IS NULL OR a.applicationId = :applicationId)
+        AND (:jobId IS NULL OR a.jobId = :jobId)
+        AND (:status IS NULL OR a.status = :status)
+        AND (:jobTitle IS NULL OR j.titleLower LIKE CONCAT('%', :jobTitle, '%') ESCAPE '!')
+        AND (:candidateName IS NULL OR c.displayNameLower LIKE CONCAT('%', :candidateName, '%') ESCAPE '!')
+        """)
+    Page<ApplicationSummary> search(
+            @Param("applicationId") UUID applicationId,
+            @Param("jobId") UUID jobId,
+            @Param("status") ApplicationStatus status,
+            @Param("jobTitle") String jobTitle,
+            @Param("candidateName") String candidateName,
+            Pageable pageable
+    );
+
+    @Query("SELECT DISTINCT a.jobId FROM Application a WHERE a.jobId IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM JobTitleSnapshot j WHERE j.jobId = a.jobId)")
+    List<UUID> findJobIdsWithoutSnapshot();
+
+    @Query("SELECT DISTINCT a.candidateUserId FROM Application a WHERE a.candidateUserId IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM CandidateNameSnapshot c WHERE c.candidateUserId = a.candidateUserId)")
+    List<String> findCandidateUserIdsWithoutSnapshot();
+
+    boolean existsByCvBlobKey(String cvBlobKey);
+
+    // keyset page for CvBackfillService
+    @Query("SELECT a.applicationId FROM Application a WHERE a.applicationId > :after ORDER BY a.applicationId")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Pageable page);
+
+    // cv_file is no longer mapped; legacy bytes are dropped once the CV lives in the blob store
+    @Modifying
+    @Query(value = "UPDATE application SET cv_file = NULL WHERE application_id = :id AND cv_file IS NOT NULL", nativeQuery = true)
+    int clearLegacyCv(@Param("id") UUID id);
+}
@@ -0,0 +1,37 @@
+package com.recrutment.application.repos;
+
+import com.recrutment.application.entities.Application;
+import com.recrutment.application.enums.ApplicationStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Metadata-only view of an {@link Application}, used by list queries so they select
+ * just these columns instead of hydrating whole entities.
+ * Component names match the entity attributes, which is what Spring Data needs for
+ * derived-query projections.
+ */
+public record ApplicationSummary(
+        UUID applicationId,
+        UUID jobId,
+        String candidateUserId,
+        String githubUrl,
+        ApplicationStatus status,
+        Instant appliedAt,
+        String cvFileName,
+        String cvContentType
+) {
+    public static ApplicationSummary of(Application a) {
+        return new ApplicationSummary(
+                a.getApplicationId(),
+                a.getJobId(),
+                a.getCandidateUserId(),
+                a.getGithubUrl(),
+                a.getStatus(),
+                a.getAppliedAt(),
+                a.getCvFileName(),
+                a.getCvContentType()
+        );
+    }
+}
@@ -0,0 +1,7 @@
+package com.recrutment.application.repos;
+
+import com.recrutment.application.entities.CandidateNameSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CandidateNameSnapshotRepo extends JpaRepository<CandidateNameSnapshot, String> {
+}
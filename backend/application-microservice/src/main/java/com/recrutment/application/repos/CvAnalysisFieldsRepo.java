@@ -0,0 +1,16 @@
+package com.recrutment.application.repos;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/** Column-level reads of CvAnalysis, mixed into {@link CvAnalysisRepo}. */
+public interface CvAnalysisFieldsRepo {
+
+    /**
+     * Only the given attributes of the application's latest analysis, keyed by attribute
+     * name in the order given. jsonb columns that aren't asked for are never selected.
+     */
+    Optional<Map<String, Object>> findLatestFields(UUID applicationId, Collection<String> attributes);
+}
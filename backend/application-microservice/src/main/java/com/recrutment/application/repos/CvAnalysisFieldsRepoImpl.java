@@ -0,0 +1,53 @@
+package com.recrutment.application.repos;
+
+import com.recrutment.application.entities.CvAnalysis;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+class CvAnalysisFieldsRepoImpl implements CvAnalysisFieldsRepo {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Optional<Map<String, Object>> findLatestFields(UUID applicationId, Collection<String> attributes) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<CvAnalysis> c = query.from(CvAnalysis.class);
+
+        Subquery<Integer> latest = query.subquery(Integer.class);
+        Root<CvAnalysis> l = latest.from(CvAnalysis.class);
+        latest.select(cb.max(l.<Integer>get("version")))
+                .where(cb.equal(l.get("applicationId"), applicationId));
+
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(c.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections)
+                .where(cb.equal(c.get("applicationId"), applicationId),
+                        cb.equal(c.get("version"), latest));
+
+        return em.createQuery(query).getResultStream().findFirst().map(tuple -> {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            for (String attribute : attributes) {
+                fields.put(attribute, tuple.get(attribute));
+            }
+            return fields;
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package com.recrutment.application.repos;
+
+import com.recrutment.application.entities.CvAnalysis;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The parts of a CV analysis the ranking engine scores against job requirements.
+ * githubConfirmedSkills is the raw JSON array from github_profile, extracted by Postgres
+ * so the (large) profile document itself is not loaded.
+ */
+public record CvAnalysisMatchRow(
+        UUID analysisId,
+        UUID applicationId,
+        List<String> skills,
+        List<String> certifications,
+        List<CvAnalysis.LanguageEmbedded> languages,
+        List<CvAnalysis.EducationEmbedded> education,
+        Float totalYearsExperience,
+        String seniorityLevel,
+        String githubConfirmedSkills
+) {
+}
@@ -0,0 +1,7 @@
+package com.recrutment.application.repos;
+
+import java.util.UUID;
+
+/** Which analysis is the latest one of an application. */
+public record CvAnalysisRef(UUID analysisId, UUID applicationId) {
+}
@@ -2,11 +2,72 @@ package com.recrutment.application.repos;
 
 import com.recrutment.application.entities.CvAnalysis;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface CvAnalysisRepo extends JpaRepository<CvAnalysis, UUID> {
-    Optional<CvAnalysis> findByApplicationId(UUID applicationId);
+public interface CvAnalysisRepo extends JpaRepository<CvAnalysis, UUID>, CvAnalysisFieldsRepo {
+    Optional<CvAnalysis> findFirstByApplicationIdOrderByVersionDesc(UUID applicationId);
+    List<CvAnalysis> findByApplicationIdOrderByVersionDesc(UUID applicationId);
+    Optional<CvAnalysis> findByApplicationIdAndVersion(UUID applicationId, Integer version);
     boolean existsByApplicationId(UUID applicationId);
-}
\ No newline at end of file
+
+    Optional<CvAnalysis> findFirstByCacheKeyAndParsingStatusNotAndAnalyzedAtAfterOrderByAnalyzedAtDesc(
+            String cacheKey, String parsingStatus, Instant analyzedAfter);
+
+    // latest version only; the GitHub score is extracted server-side from the jsonb
+    @Query("""
+            SELECT new com.recrutment.application.repos.CvAnalysisSummary(
+                c.applicationId, c.version, c.candidateName, c.desiredPosition, c.seniorityLevel, c.summary,
+                c.totalYearsExperience,
+                cast(function('jsonb_extract_path_text', c.githubProfile, 'githubScore') as String),
+                c.parsingStatus, c.analyzedAt)
+            FROM CvAnalysis c
+            WHERE c.applicationId = :applicationId
+              AND c.version = (SELECT MAX(l.version) FROM CvAnalysis l WHERE l.applicationId = :applicationId)
+            """)
+    Optional<CvAnalysisSummary> findLatestSummary(@Param("applicationId") UUID applicationId);
+
+    // same projection for many applications at once, latest version of each
+    @Query("""
+            SELECT new com.recrutment.application.repos.CvAnalysisSummary(
+                c.applicationId, c.version, c.candidateName, c.desiredPosition, c.seniorityLevel, c.summary,
+                c.totalYearsExperience,
+                cast(function('jsonb_extract_path_text', c.githubProfile, 'githubScore') as String),
+                c.parsingStatus, c.analyzedAt)
+            FROM CvAnalysis c
+            WHERE c.applicationId IN :applicationIds
+              AND c.version = (SELECT MAX(l.version) FROM CvAnalysis l WHERE l.applicationId = c.applicationId)
+            """)
+    List<CvAnalysisSummary> findLatestSummaries(@Param("applicationIds") Collection<UUID> applicationIds);
+
+    @Query("SELECT DISTINCT c.applicationId FROM CvAnalysis c WHERE c.applicationId IN :applicationIds")
+    List<UUID> findAnalyzedApplicationIds(@Param("applicationIds") Collection<UUID> applicationIds);
+
+    // latest successful analysis id of every application to a job (ids only, for the
+    // ranking vector cache): a FAILED version has nothing to score, the one before it does
+    @Query("""
+            SELECT new com.recrutment.application.repos.CvAnalysisRef(c.id, c.applicationId)
+            FROM CvAnalysis c
+            WHERE c.applicationId IN (SELECT a.applicationId FROM Application a WHERE a.jobId = :jobId)
+              AND c.version = (SELECT MAX(l.version) FROM CvAnalysis l
+                               WHERE l.applicationId = c.applicationId
+                                 AND (l.parsingStatus IS NULL OR l.parsingStatus <> 'FAILED'))
+            """)
+    List<CvAnalysisRef> findLatestRefsByJobId(@Param("jobId") UUID jobId);
+
+    @Query("""
+            SELECT new com.recrutment.application.repos.CvAnalysisMatchRow(
+                c.id, c.applicationId, c.skills, c.certifications, c.languages, c.education,
+                c.totalYearsExperience, c.seniorityLevel,
+                cast(function('jsonb_extract_path_text', c.githubProfile, 'cvSkillsConfirmed') as String))
+            FROM CvAnalysis c
+            WHERE c.id IN :ids
+            """)
+    List<CvAnalysisMatchRow> findMatchRows(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,23 @@
+package com.recrutment.application.repos;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * What the recruiter list shows of a CV analysis. Read with a column projection;
+ * githubScore is pulled out of the github_profile jsonb by Postgres, so none of the
+ * jsonb documents are sent over or deserialized.
+ */
+public record CvAnalysisSummary(
+        UUID applicationId,
+        Integer version,
+        String candidateName,
+        String desiredPosition,
+        String seniorityLevel,
+        String summary,
+        Float totalYearsExperience,
+        String githubScore,
+        String parsingStatus,
+        Instant analyzedAt
+) {
+}
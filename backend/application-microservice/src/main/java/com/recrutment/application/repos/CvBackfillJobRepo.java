@@ -0,0 +1,64 @@
+package com.recrutment.application.repos;
+
+import com.recrutment.application.entities.CvBackfillJob;
+import com.recrutment.application.enums.BackfillStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface CvBackfillJobRepo extends JpaRepository<CvBackfillJob, UUID> {
+
+    Optional<CvBackfillJob> findFirstByOrderByStartedAtDesc();
+
+    List<CvBackfillJob> findByStatus(BackfillStatus status);
+
+    boolean existsByStatus(BackfillStatus status);
+
+    // takes over a job nobody is running: unowned, ours, or whose owner stopped checkpointing;
+    // the new run id retires whatever loop held the job before
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE CvBackfillJob j SET j.owner = :owner, j.runId = :runId, j.heartbeatAt = :now
+        WHERE j.id = :id AND j.status = com.recrutment.application.enums.BackfillStatus.RUNNING
+          AND (j.owner IS NULL OR j.owner = :owner OR j.heartbeatAt < :staleBefore)
+        """)
+    int claim(@Param("id") UUID id, @Param("owner") String owner, @Param("runId") UUID runId,
+              @Param("now") Instant now, @Param("staleBefore") Instant staleBefore);
+
+    // lease renewal while the run works through a page
+    @Transactional
+    @Modifying
+    @Query("UPDATE CvBackfillJob j SET j.heartbeatAt = :now WHERE j.id = :id AND j.runId = :runId")
+    int heartbeat(@Param("id") UUID id, @Param("runId") UUID runId, @Param("now") Instant now);
+
+    // progress only: status is left alone so a concurrent pause isn't overwritten
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE CvBackfillJob j SET j.lastApplicationId = :last, j.heartbeatAt = :now,
+            j.processed = j.processed + :processed, j.analyzed = j.analyzed + :analyzed,
+            j.reused = j.reused + :reused, j.upToDate = j.upToDate + :upToDate, j.failed = j.failed + :failed
+        WHERE j.id = :id AND j.runId = :runId
+        """)
+    int checkpoint(@Param("id") UUID id, @Param("runId") UUID runId, @Param("last") UUID last,
+                   @Param("processed") long processed, @Param("analyzed") long analyzed,
+                   @Param("reused") long reused, @Param("upToDate") long upToDate,
+                   @Param("failed") long failed, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE CvBackfillJob j SET j.status = :to, j.finishedAt = :finishedAt
+        WHERE j.id = :id AND j.status = :from
+        """)
+    int transition(@Param("id") UUID id, @Param("from") BackfillStatus from,
+                   @Param("to") BackfillStatus to, @Param("finishedAt") Instant finishedAt);
+}
@@ -0,0 +1,9 @@
+package com.recrutment.application.repos;
+
+import com.recrutment.application.entities.JobTitleSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface JobTitleSnapshotRepo extends JpaRepository<JobTitleSnapshot, UUID> {
+}
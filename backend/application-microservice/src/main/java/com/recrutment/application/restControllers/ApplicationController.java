@@ -2,11 +2,16 @@ package com.recrutment.application.restControllers;
 
 import com.recrutment.application.dto.ApplicationDto;
 import com.recrutment.application.dto.PageResponse;
+import com.recrutment.application.dto.RankedCandidateDto;
 import com.recrutment.application.entities.Application;
 import com.recrutment.application.enums.ApplicationStatus;
 import com.recrutment.application.repos.ApplicationRepo;
+import com.recrutment.application.repos.CvAnalysisSummary;
 import com.recrutment.application.services.ApplicationService;
+import com.recrutment.application.services.CvStorageService;
+import com.recrutment.application.services.JobRankingCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -19,6 +24,7 @@ import com.recrutment.application.services.CvAnalysisService;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -28,6 +34,8 @@ public class ApplicationController {
     private final CvAnalysisService cvAnalysisService;
     private final ApplicationService service;
     private final ApplicationRepo repo;
+    private final CvStorageService cvStorage;
+    private final JobRankingCache rankingCache;
 
     // ── Application endpoints ─────────────────────────────────────────────────
 
@@ -43,16 +51,13 @@ public class ApplicationController {
         return service.apply(jobId, candidateUserId, githubUrl, cv);
     }
 
+    // Resource bodies are streamed, and Spring answers Range requests with partial content
     @GetMapping("/{id}/cv")
-    public ResponseEntity<byte[]> downloadCv(@PathVariable UUID id) {
+    public ResponseEntity<Resource> downloadCv(@PathVariable UUID id) {
         Application app = repo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Application not found: " + id));
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + app.getCvFileName() + "\"")
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(app.getCvFile());
+        return cvResponse(app);
     }
 
     @GetMapping
@@ -101,7 +106,7 @@ public class ApplicationController {
     }
 
     @GetMapping("/me/{id}/cv")
-    public ResponseEntity<byte[]> downloadMyCv(
+    public ResponseEntity<Resource> downloadMyCv(
             @PathVariable UUID id,
             @AuthenticationPrincipal Jwt jwt
     ) {
@@ -114,11 +119,15 @@ public class ApplicationController {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not allowed.");
         }
 
+        return cvResponse(app);
+    }
+
+    private ResponseEntity<Resource> cvResponse(Application app) {
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"" + app.getCvFileName() + "\"")
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(app.getCvFile());
+                .body(cvStorage.open(app));
     }
 
     @PatchMapping(value = "/me/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -160,11 +169,63 @@ public class ApplicationController {
         return service.listApplicationsPaged(applicationId, jobId, status, jobTitle, candidateName, page, size);
     }
 
+    // applicants of a job scored against its weighted requirements, best first
+    @GetMapping("/job/{jobId}/ranked")
+    public PageResponse<RankedCandidateDto> rankedByJob(
+            @PathVariable UUID jobId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return rankingCache.rankedPage(jobId, page, size);
+    }
+
     @GetMapping("/{id}/analysis")
     public CvAnalysis getAnalysis(@PathVariable UUID id) {
         return cvAnalysisService.getAnalysis(id);
     }
 
+    // ?fields=section:summary,section:skills or ?fields=seniorityLevel,githubProfile: only those columns are loaded
+    @GetMapping(value = "/{id}/analysis", params = "fields")
+    public Map<String, Object> getAnalysisFields(@PathVariable UUID id, @RequestParam String fields) {
+        return cvAnalysisService.getAnalysisFields(id, fields);
+    }
+
+    /**
+     * Analysis badges for a whole page of applications in one call.
+     * POST /api/applications/analysis/batch  body: ["id1", "id2", ...]
+     * Returns the latest analysis summary of each id that has one. With ?view=exists,
+     * returns an id -> has-analysis map covering every requested id instead.
+     */
+    @PostMapping("/analysis/batch")
+    public List<CvAnalysisSummary> getAnalysisSummaries(@RequestBody List<UUID> applicationIds) {
+        return cvAnalysisService.getAnalysisSummaries(applicationIds);
+    }
+
+    @PostMapping(value = "/analysis/batch", params = "view=exists")
+    public Map<UUID, Boolean> hasAnalyses(@RequestBody List<UUID> applicationIds) {
+        return cvAnalysisService.hasAnalyses(applicationIds);
+    }
+
+    @GetMapping("/{id}/analysis/summary")
+    public CvAnalysisSummary getAnalysisSummary(@PathVariable UUID id) {
+        return cvAnalysisService.getAnalysisSummary(id);
+    }
+
+    @GetMapping("/{id}/analysis/latest")
+    public CvAnalysis getLatestAnalysis(@PathVariable UUID id) {
+        return cvAnalysisService.getAnalysis(id);
+    }
+
+    @GetMapping("/{id}/analysis/versions")
+    public List<CvAnalysis> getAnalysisHistory(@PathVariable UUID id) {
+        return cvAnalysisService.getAnalysisHistory(id);
+    }
+
+    @GetMapping("/{id}/analysis/versions/{version}")
+    public CvAnalysis getAnalysisVersion(@PathVariable UUID id, @PathVariable int version) {
+        return cvAnalysisService.getAnalysis(id, version);
+    }
+
     @GetMapping("/{id}/analysis/exists")
     public boolean hasAnalysis(@PathVariable UUID id) {
         return cvAnalysisService.hasAnalysis(id);
@@ -0,0 +1,27 @@
+package com.recrutment.application.restControllers;
+
+import com.recrutment.application.messaging.CvAnalysisQueue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/applications/admin/cv-analysis")
+@RequiredArgsConstructor
+public class CvAnalysisQueueController {
+
+    private final CvAnalysisQueue queue;
+
+    @GetMapping
+    public Map<String, Long> status() {
+        return queue.depths();
+    }
+
+    /** Puts dead-lettered analyses back on the work queue, e.g. once cv-parser is healthy again. */
+    @PostMapping("/redrive")
+    public Map<String, Integer> redrive(@RequestParam(defaultValue = "100") int max) {
+        int safeMax = Math.min(Math.max(max, 1), 10_000);
+        return Map.of("redriven", queue.redrive(safeMax));
+    }
+}
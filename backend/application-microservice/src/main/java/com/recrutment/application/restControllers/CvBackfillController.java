@@ -0,0 +1,58 @@
+package com.recrutment.application.restControllers;
+
+import com.recrutment.application.services.CvBackfillService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@RestController
+@RequestMapping("/api/applications/admin/cv-backfill")
+@RequiredArgsConstructor
+public class CvBackfillController {
+
+    private final CvBackfillService backfillService;
+
+    @GetMapping
+    public CvBackfillService.Progress latest() {
+        return backfillService.latest()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No CV backfill has run yet"));
+    }
+
+    @GetMapping("/{id}")
+    public CvBackfillService.Progress get(@PathVariable UUID id) {
+        return backfillService.get(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "CV backfill not found: " + id));
+    }
+
+    @PostMapping
+    public CvBackfillService.Progress start(
+            @RequestParam(defaultValue = "4") int concurrency,
+            @RequestParam(defaultValue = "2") double requestsPerSecond
+    ) {
+        int safeConcurrency = Math.min(Math.max(concurrency, 1), 64);
+        double safeRps = Math.min(Math.max(requestsPerSecond, 0.01), 100);
+        return conflictOnIllegalState(() -> backfillService.start(safeConcurrency, safeRps));
+    }
+
+    @PostMapping("/{id}/pause")
+    public CvBackfillService.Progress pause(@PathVariable UUID id) {
+        return conflictOnIllegalState(() -> backfillService.pause(id));
+    }
+
+    @PostMapping("/{id}/resume")
+    public CvBackfillService.Progress resume(@PathVariable UUID id) {
+        return conflictOnIllegalState(() -> backfillService.resume(id));
+    }
+
+    private static <T> T conflictOnIllegalState(Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.recrutment.application.restControllers;
+
+import com.recrutment.application.services.CvBlobMigrationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/applications/admin/cv-migration")
+@RequiredArgsConstructor
+public class CvBlobMigrationController {
+
+    private final CvBlobMigrationService migrationService;
+
+    @GetMapping
+    public Map<String, Long> status() {
+        return Map.of("remaining", migrationService.remaining());
+    }
+
+    @PostMapping
+    public CvBlobMigrationService.MigrationResult migrate(
+            @RequestParam(defaultValue = "50") int batchSize,
+            @RequestParam(defaultValue = "100") int maxBatches
+    ) {
+        int safeBatch = Math.min(Math.max(batchSize, 1), 500);
+        int safeMax = Math.max(maxBatches, 1);
+        try {
+            return migrationService.migrate(safeBatch, safeMax);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+}
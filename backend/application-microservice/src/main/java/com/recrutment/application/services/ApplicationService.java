@@ -9,16 +9,18 @@ import com.recrutment.application.enums.ApplicationStatus;
 import com.recrutment.application.messaging.AppEventMessage;
 import com.recrutment.application.messaging.AppEventPublisher;
 import com.recrutment.application.repos.ApplicationRepo;
+import com.recrutment.application.repos.ApplicationSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
@@ -30,8 +32,13 @@ import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
@@ -43,40 +50,109 @@ public class ApplicationService {
             Pattern.compile("^https?://(www\\.)?github\\.com/([A-Za-z0-9-]+)/*$");
 
     private final CvAnalysisService cvAnalysisService;
+    private final SnapshotService snapshotService;
+    private final CvStorageService cvStorage;
     private final AppEventPublisher eventPublisher;
 
     private final ApplicationRepo repo;
     private final JobClient jobClient;
     private final UserClient userClient;
 
-    private ApplicationDto toDto(Application a) {
-        String jobTitle = null;
-        String candidateName = null;
+    ApplicationDto toDto(Application app) {
+        ApplicationSummary a = ApplicationSummary.of(app);
+        JobClient.JobDto job = null;
+        UserClient.KcUser user = null;
 
         try {
-            var job = jobClient.getJob(a.getJobId());
-            jobTitle = (job != null ? job.getTitle() : null);
+            job = jobClient.getJob(a.jobId());
         } catch (Exception ignored) {}
 
         try {
-            var user = userClient.getUser(a.getCandidateUserId());
-            if (user != null) {
-                String fn = user.getFirstName() == null ? "" : user.getFirstName().trim();
-                String ln = user.getLastName() == null ? "" : user.getLastName().trim();
-                String full = (fn + " " + ln).trim();
-                candidateName = full.isBlank() ? user.getUsername() : full;
+            user = userClient.getUser(a.candidateUserId());
+        } catch (Exception ignored) {}
+
+        return toDto(a, job, user);
+    }
+
+    /**
+     * Enrich a whole page at once: the distinct job ids and candidate ids are resolved
+     * with one bulk call each, so the remote cost doesn't grow with the number of rows.
+     */
+    List<ApplicationDto> toDtos(List<ApplicationSummary> apps) {
+        if (apps.isEmpty()) return List.of();
+
+        Set<UUID> jobIds = new LinkedHashSet<>();
+        Set<String> userIds = new LinkedHashSet<>();
+        for (ApplicationSummary a : apps) {
+            if (a.jobId() != null) jobIds.add(a.jobId());
+            if (a.candidateUserId() != null) userIds.add(a.candidateUserId());
+        }
+
+        Map<UUID, JobClient.JobDto> jobs = Map.of();
+        Map<String, UserClient.KcUser> users = Map.of();
+
+        try {
+            jobs = jobClient.getJobs(jobIds);
+        } catch (Exception ignored) {}
+
+        try {
+            users = userClient.getUsers(userIds);
+        } catch (Exception ignored) {}
+
+        List<ApplicationDto> dtos = new ArrayList<>(apps.size());
+        for (ApplicationSummary a : apps) {
+            dtos.add(toDto(a, jobs.get(a.jobId()), users.get(a.candidateUserId())));
+        }
+        return dtos;
+    }
+
+    // files live outside the transaction, so tie their cleanup to its outcome
+    private void deleteBlobOnRollback(CvStorageService.StoredCv stored) {
+        // a deduplicated blob was already there and may belong to other applications
+        if (!stored.created() || !TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) cvStorage.deleteIfUnreferenced(stored.key());
+            }
+        });
+    }
+
+    private void deleteBlobAfterCommit(String key) {
+        if (key == null || !TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cvStorage.deleteIfUnreferenced(key);
             }
+        });
+    }
+
+    // we just resolved the title and name anyway, so make them searchable right away
+    private void recordSnapshots(ApplicationDto dto) {
+        try {
+            if (dto.getJobTitle() != null) snapshotService.recordJobTitle(dto.getJobId(), dto.getJobTitle());
+            snapshotService.recordCandidateName(dto.getCandidateUserId(), dto.getCandidateName());
         } catch (Exception ignored) {}
+    }
+
+    private static ApplicationDto toDto(ApplicationSummary a, JobClient.JobDto job, UserClient.KcUser user) {
+        String jobTitle = (job != null ? job.getTitle() : null);
+        String candidateName = null;
+
+        if (user != null) {
+            candidateName = user.getDisplayName();
+        }
 
         return new ApplicationDto(
-                a.getApplicationId(),
-                a.getJobId(),
-                a.getCandidateUserId(),
-                a.getGithubUrl(),
-                a.getStatus(),
-                a.getAppliedAt(),
-                a.getCvFileName(),
-                a.getCvContentType(),
+                a.applicationId(),
+                a.jobId(),
+                a.candidateUserId(),
+                a.githubUrl(),
+                a.status(),
+                a.appliedAt(),
+                a.cvFileName(),
+                a.cvContentType(),
                 jobTitle,
                 candidateName
         );
@@ -90,7 +166,7 @@ public class ApplicationService {
 
         String ct = cv.getContentType();
         boolean isPdf = "application/pdf".equalsIgnoreCase(ct)
-                || (cv.getOriginalFilename() != null && cv.getOriginalFilename().toLowerCase().endsWith(".pdf"));
+                || (cv.getOriginalFilename() != null && cv.getOriginalFilename().toLowerCase(Locale.ROOT).endsWith(".pdf"));
 
         if (!isPdf) {
             throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Only PDF is allowed.");
@@ -100,22 +176,29 @@ public class ApplicationService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "You already applied to this job.");
         });
 
+        CvStorageService.StoredCv stored = cvStorage.store(cv);
+
         Application app = Application.builder()
                 .jobId(jobId)
                 .candidateUserId(candidateUserId)
                 .githubUrl(githubUrl)
                 .status(ApplicationStatus.APPLIED)
                 .appliedAt(Instant.now())
-                .cvFile(cv.getBytes())
+                .cvBlobKey(stored.key())
+                .cvSize(stored.size())
                 .cvFileName(cv.getOriginalFilename() == null ? "cv.pdf" : cv.getOriginalFilename())
                 .cvContentType("application/pdf")
                 .build();
 
+        deleteBlobOnRollback(stored);
+
         try {
             Application saved = repo.save(app);
-            // Trigger async CV analysis (non-blocking)
-            cvAnalysisService.analyzeAsync(saved);
-            return toDto(saved);
+            // Trigger async CV analysis (non-blocking, queued once the insert commits)
+            cvAnalysisService.submit(saved.getApplicationId());
+            ApplicationDto dto = toDto(saved);
+            recordSnapshots(dto);
+            return dto;
         } catch (DataIntegrityViolationException e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "You already applied to this job.");
         }
@@ -159,26 +242,26 @@ public class ApplicationService {
             String jobTitle,
             String candidateName
     ) {
-        List<Application> base;
+        List<ApplicationSummary> base;
 
         if (applicationId != null) {
-            base = repo.findById(applicationId).map(List::of).orElseGet(List::of);
+            base = repo.findSummaryByApplicationId(applicationId);
         } else if (status != null) {
-            base = repo.findByStatus(status);
+            base = repo.findSummaryByStatus(status);
         } else {
-            base = repo.findAll();
+            base = repo.findAllSummariesBy();
         }
 
-        List<ApplicationDto> dtos = base.stream().map(this::toDto).toList();
+        List<ApplicationDto> dtos = toDtos(base);
 
-        String jt = jobTitle == null ? null : jobTitle.trim().toLowerCase();
-        String cn = candidateName == null ? null : candidateName.trim().toLowerCase();
+        String jt = jobTitle == null ? null : jobTitle.trim().toLowerCase(Locale.ROOT);
+        String cn = candidateName == null ? null : candidateName.trim().toLowerCase(Locale.ROOT);
 
         return dtos.stream()
                 .filter(d -> jt == null || jt.isBlank()
-                        || (d.getJobTitle() != null && d.getJobTitle().toLowerCase().contains(jt)))
+                        || (d.getJobTitle() != null && d.getJobTitle().toLowerCase(Locale.ROOT).contains(jt)))
                 .filter(d -> cn == null || cn.isBlank()
-                        || (d.getCandidateName() != null && d.getCandidateName().toLowerCase().contains(cn)))
+                        || (d.getCandidateName() != null && d.getCandidateName().toLowerCase(Locale.ROOT).contains(cn)))
                 .toList();
     }
 
@@ -197,18 +280,12 @@ public class ApplicationService {
 
     @Transactional(readOnly = true)
     public List<ApplicationDto> listMyApplications(String candidateUserId) {
-        return repo.findByCandidateUserId(candidateUserId)
-                .stream()
-                .map(this::toDto)
-                .toList();
+        return toDtos(repo.findSummaryByCandidateUserId(candidateUserId));
     }
 
     @Transactional(readOnly = true)
     public List<String> getCandidateUserIdsByJob(UUID jobId) {
-        return repo.findByJobId(jobId).stream()
-                .map(Application::getCandidateUserId)
-                .distinct()
-                .toList();
+        return repo.findDistinctCandidateUserIdsByJobId(jobId);
     }
 
     @Transactional(readOnly = true)
@@ -243,6 +320,10 @@ public class ApplicationService {
                     "You can update the application only while status is APPLIED.");
         }
 
+        // inputs of the current CV analysis, to know whether it needs redoing
+        String analyzedCvKey = app.getCvBlobKey();
+        String analyzedGithubUrl = app.getGithubUrl();
+
         if (githubUrl != null) {
             String g = githubUrl.trim();
             app.setGithubUrl(g.isEmpty() ? null : g);
@@ -252,18 +333,34 @@ public class ApplicationService {
 
             String ct = cv.getContentType();
             boolean isPdf = "application/pdf".equalsIgnoreCase(ct)
-                    || (cv.getOriginalFilename() != null && cv.getOriginalFilename().toLowerCase().endsWith(".pdf"));
+                    || (cv.getOriginalFilename() != null && cv.getOriginalFilename().toLowerCase(Locale.ROOT).endsWith(".pdf"));
 
             if (!isPdf) {
                 throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Only PDF is allowed.");
             }
 
-            app.setCvFile(cv.getBytes());
+            CvStorageService.StoredCv stored = cvStorage.store(cv);
+            String previousKey = app.getCvBlobKey();
+
+            app.setCvBlobKey(stored.key());
+            app.setCvSize(stored.size());
             app.setCvFileName(cv.getOriginalFilename() == null ? "cv.pdf" : cv.getOriginalFilename());
             app.setCvContentType("application/pdf");
+            repo.clearLegacyCv(app.getApplicationId());
+
+            deleteBlobOnRollback(stored);
+            deleteBlobAfterCommit(previousKey);
         }
 
-        return toDto(repo.save(app));
+        Application saved = repo.save(app);
+
+        // same PDF re-uploaded and same GitHub URL: the current analysis still holds
+        if (!Objects.equals(analyzedCvKey, saved.getCvBlobKey())
+                || !Objects.equals(analyzedGithubUrl, saved.getGithubUrl())) {
+            cvAnalysisService.submit(saved.getApplicationId());
+        }
+
+        return toDto(saved);
     }
     @Transactional
     public ApplicationDto updateStatus(UUID id, ApplicationStatus status, String actorUserId) {
@@ -336,49 +433,24 @@ public class ApplicationService {
         int safeSize = Math.min(Math.max(size, 1), 50);
         Pageable pageable = PageRequest.of(safePage, safeSize);
 
-        String jt = jobTitle == null ? null : jobTitle.trim().toLowerCase();
-        String cn = candidateName == null ? null : candidateName.trim().toLowerCase();
-        boolean needsEnrichedFiltering = (jt != null && !jt.isBlank()) || (cn != null && !cn.isBlank());
-
-        if (needsEnrichedFiltering) {
-            List<Application> base;
-            if (applicationId != null)      base = repo.findById(applicationId).map(List::of).orElseGet(List::of);
-            else if (jobId != null && status != null) base = repo.findByJobIdAndStatus(jobId, status);
-            else if (jobId != null)         base = repo.findByJobId(jobId);
-            else if (status != null)        base = repo.findByStatus(status);
-            else                            base = repo.findAll();
-
-            List<ApplicationDto> filtered = base.stream().map(this::toDto)
-                    .filter(d -> jt == null || jt.isBlank() || (d.getJobTitle() != null && d.getJobTitle().toLowerCase().contains(jt)))
-                    .filter(d -> cn == null || cn.isBlank() || (d.getCandidateName() != null && d.getCandidateName().toLowerCase().contains(cn)))
-                    .toList();
-
-            int from = Math.min(safePage * safeSize, filtered.size());
-            int to   = Math.min(from + safeSize, filtered.size());
-            return new PageResponse<>(filtered.subList(from, to), safePage, safeSize, filtered.size(),
-                    (int) Math.ceil(filtered.size() / (double) safeSize));
-        }
-
-        Page<Application> p;
+        String jt = likeFragment(jobTitle);
+        String cn = likeFragment(candidateName);
 
-        if (applicationId != null) {
-            List<Application> single = repo.findById(applicationId).map(List::of).orElseGet(List::of);
-            p = new PageImpl<>(single, pageable, single.size());
-        } else if (status != null) {
-            p = repo.findByStatus(status, pageable);
-        } else {
-            p = repo.findAll(pageable);
-        }
-
-        List<ApplicationDto> content = p.getContent().stream().map(this::toDto).toList();
-        if (applicationId != null)                  p = new PageImpl<>(repo.findById(applicationId).map(List::of).orElseGet(List::of), pageable, 1);
-        else if (jobId != null && status != null)   p = repo.findByJobIdAndStatus(jobId, status, pageable);
-        else if (jobId != null)                     p = repo.findByJobId(jobId, pageable);
-        else if (status != null)                    p = repo.findByStatus(status, pageable);
-        else                                        p = repo.findAll(pageable);
+        // single pass: one page query (+ its count), then one batch enrichment of that page.
+        // Title / name filters run in SQL against the local snapshots.
+        Page<ApplicationSummary> p = repo.search(applicationId, jobId, status, jt, cn, pageable);
 
-        return new PageResponse<>(p.getContent().stream().map(this::toDto).toList(),
+        return new PageResponse<>(toDtos(p.getContent()),
                 safePage, safeSize, p.getTotalElements(), p.getTotalPages());
     }
 
+    // lower-cased, with LIKE's wildcards escaped ('!' is the ESCAPE of ApplicationRepo.search),
+    // so "50%" or "c_sharp" match literally
+    static String likeFragment(String text) {
+        if (text == null || text.isBlank()) return null;
+        return text.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+    }
 }
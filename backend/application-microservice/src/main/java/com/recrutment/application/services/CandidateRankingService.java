@@ -0,0 +1,263 @@
+package com.recrutment.application.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.recrutment.application.clients.JobClient;
+import com.recrutment.application.clients.UserClient;
+import com.recrutment.application.dto.PageResponse;
+import com.recrutment.application.dto.RankedCandidateDto;
+import com.recrutment.application.repos.ApplicationRepo;
+import com.recrutment.application.repos.ApplicationSummary;
+import com.recrutment.application.repos.CvAnalysisMatchRow;
+import com.recrutment.application.repos.CvAnalysisRef;
+import com.recrutment.application.repos.CvAnalysisRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Ranks every applicant of a job against the job's weighted requirements.
+ *
+ * Candidates are scored from their latest successful CV analysis, turned once into a
+ * CandidateVector (interned ids, see CandidateScorer) and kept in a cache keyed by
+ * analysis id: analyses are never modified, a re-analysis is a new row with a new id.
+ * A ranking is then one query for the applicants, one for their latest analysis ids,
+ * one for the vectors not cached yet, and a primitive sort. A cached vector compiled
+ * before one of the job's requirement terms entered the dictionary is compiled again. Names and the
+ * matched / missing breakdown are only worked out for the requested page.
+ *
+ * Applicants without a successful analysis come last, in application order, with no score.
+ */
+@Service
+@Slf4j
+public class CandidateRankingService {
+
+    static final int MAX_PAGE_SIZE = 100;
+    private static final int SCORE_SCALE = 1_000_000;
+    // loading vectors for a 10k-applicant job: a few round trips, not one huge IN list
+    private static final int LOAD_CHUNK = 1000;
+
+    private final ApplicationRepo applicationRepo;
+    private final CvAnalysisRepo cvAnalysisRepo;
+    private final JobClient jobClient;
+    private final UserClient userClient;
+    private final CandidateScorer scorer;
+    private final Cache<UUID, CandidateScorer.CandidateVector> vectorCache;
+    private final Timer rankTimer;
+
+    public CandidateRankingService(ApplicationRepo applicationRepo,
+                                   CvAnalysisRepo cvAnalysisRepo,
+                                   JobClient jobClient,
+                                   UserClient userClient,
+                                   CandidateScorer scorer,
+                                   Cache<UUID, CandidateScorer.CandidateVector> candidateVectorCache,
+                                   MeterRegistry registry) {
+        this.applicationRepo = applicationRepo;
+        this.cvAnalysisRepo = cvAnalysisRepo;
+        this.jobClient = jobClient;
+        this.userClient = userClient;
+        this.scorer = scorer;
+        this.vectorCache = candidateVectorCache;
+        this.rankTimer = Timer.builder("ranking.rank")
+                .description("Time to score and sort all applicants of a job")
+                .register(registry);
+    }
+
+    /** Applicants of a job, best first, with their score (NaN if not analyzed) and latest analysis. */
+    public record Ranking(List<ApplicationSummary> applicants, float[] scores, UUID[] analysisIds) {}
+
+    @Transactional(readOnly = true)
+    public PageResponse<RankedCandidateDto> rankedPage(UUID jobId, int page, int size) {
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        CandidateScorer.Requirement[] requirements = requirements(jobId);
+        Ranking ranking = rankTimer.record(() -> rank(jobId, requirements));
+        return toPage(ranking, requirements, safePage, safeSize);
+    }
+
+    CandidateScorer.Requirement[] requirements(UUID jobId) {
+        JobClient.JobDto job = jobClient.getJob(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found");
+        }
+        return scorer.compile(job.getRequirements());
+    }
+
+    Ranking rank(UUID jobId, CandidateScorer.Requirement[] requirements) {
+        List<ApplicationSummary> applicants = new ArrayList<>(applicationRepo.findSummaryByJobId(jobId));
+        // ties (and the unanalyzed tail) keep application order
+        applicants.sort(Comparator.comparing(ApplicationSummary::appliedAt,
+                Comparator.nullsLast(Comparator.<Instant>naturalOrder())));
+
+        Map<UUID, UUID> latestAnalysis = new HashMap<>();
+        for (CvAnalysisRef ref : cvAnalysisRepo.findLatestRefsByJobId(jobId)) {
+            latestAnalysis.put(ref.applicationId(), ref.analysisId());
+        }
+        Map<UUID, CandidateScorer.CandidateVector> vectors = vectors(latestAnalysis.values(), requirements);
+
+        int n = applicants.size();
+        float[] scores = new float[n];
+        for (int i = 0; i < n; i++) {
+            UUID analysisId = latestAnalysis.get(applicants.get(i).applicationId());
+            CandidateScorer.CandidateVector v = analysisId == null ? null : vectors.get(analysisId);
+            scores[i] = v == null ? Float.NaN : scorer.score(requirements, v);
+        }
+        int[] order = order(scores);
+
+        List<ApplicationSummary> ordered = new ArrayList<>(n);
+        float[] orderedScores = new float[n];
+        UUID[] orderedAnalyses = new UUID[n];
+        for (int r = 0; r < n; r++) {
+            int i = order[r];
+            ordered.add(applicants.get(i));
+            orderedScores[r] = scores[i];
+            orderedAnalyses[r] = latestAnalysis.get(applicants.get(i).applicationId());
+        }
+        return new Ranking(ordered, orderedScores, orderedAnalyses);
+    }
+
+    /**
+     * Positions sorted by score desc, then position; NaN (not analyzed) last.
+     * (score, position) is packed into one long so this is a primitive sort, no boxing
+     * or comparator.
+     */
+    static int[] order(float[] scores) {
+        int n = scores.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            int scaled = Float.isNaN(scores[i]) ? -1 : Math.round(scores[i] * SCORE_SCALE);
+            keys[i] = ((long) (SCORE_SCALE - scaled) << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[n];
+        for (int r = 0; r < n; r++) order[r] = (int) keys[r];
+        return order;
+    }
+
+    /** Vectors that can be scored against these requirements (see CandidateScorer.covers). */
+    Map<UUID, CandidateScorer.CandidateVector> vectors(Collection<UUID> analysisIds,
+                                                       CandidateScorer.Requirement[] requirements) {
+        Map<UUID, CandidateScorer.CandidateVector> vectors = vectors(analysisIds);
+        List<UUID> stale = new ArrayList<>();
+        vectors.forEach((id, v) -> {
+            if (!scorer.covers(requirements, v)) stale.add(id);
+        });
+        if (stale.isEmpty()) return vectors;
+
+        vectorCache.invalidateAll(stale);
+        Map<UUID, CandidateScorer.CandidateVector> fresh = new HashMap<>(vectors);
+        fresh.putAll(vectors(stale));
+        return fresh;
+    }
+
+    Map<UUID, CandidateScorer.CandidateVector> vectors(Collection<UUID> analysisIds) {
+        return vectorCache.getAll(analysisIds, missing -> {
+            Map<UUID, CandidateScorer.CandidateVector> loaded = new HashMap<>();
+            List<UUID> ids = new ArrayList<>(missing);
+            for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+                List<UUID> chunk = ids.subList(from, Math.min(from + LOAD_CHUNK, ids.size()));
+                for (CvAnalysisMatchRow row : cvAnalysisRepo.findMatchRows(chunk)) {
+                    loaded.put(row.analysisId(), scorer.vector(row));
+                }
+            }
+            return loaded;
+        });
+    }
+
+    PageResponse<RankedCandidateDto> toPage(Ranking ranking, CandidateScorer.Requirement[] requirements,
+                                            int page, int size) {
+        int total = ranking.applicants().size();
+        int from = (int) Math.min((long) page * size, total);
+        int to = Math.min(from + size, total);
+
+        List<RankedCandidateDto> content = toDtos(
+                ranking.applicants().subList(from, to),
+                Arrays.copyOfRange(ranking.scores(), from, to),
+                Arrays.copyOfRange(ranking.analysisIds(), from, to),
+                from + 1,
+                requirements);
+
+        int totalPages = (int) Math.ceil((double) total / size);
+        return new PageResponse<>(content, page, size, total, totalPages);
+    }
+
+    /**
+     * One page of ranked candidates: names are resolved with one bulk call, and the
+     * matched / missing breakdown is computed for these rows only.
+     *
+     * @param scores      aligned with rows, NaN when not analyzed
+     * @param analysisIds aligned with rows, null when not analyzed
+     */
+    List<RankedCandidateDto> toDtos(List<ApplicationSummary> rows, float[] scores, UUID[] analysisIds,
+                                    int firstRank, CandidateScorer.Requirement[] requirements) {
+        Set<String> userIds = new HashSet<>();
+        for (ApplicationSummary a : rows) {
+            if (a.candidateUserId() != null) userIds.add(a.candidateUserId());
+        }
+        Map<String, UserClient.KcUser> users = Map.of();
+        try {
+            if (!userIds.isEmpty()) users = userClient.getUsers(userIds);
+        } catch (Exception e) {
+            log.warn("Could not resolve candidate names for ranking: {}", e.getMessage());
+        }
+
+        // the page's vectors were just used for the ranking, so these are normally cache hits
+        List<UUID> pageAnalyses = new ArrayList<>();
+        for (UUID analysisId : analysisIds) {
+            if (analysisId != null) pageAnalyses.add(analysisId);
+        }
+        Map<UUID, CandidateScorer.CandidateVector> vectors = vectors(pageAnalyses, requirements);
+
+        List<RankedCandidateDto> content = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ApplicationSummary a = rows.get(i);
+            UserClient.KcUser user = users.get(a.candidateUserId());
+
+            List<String> matched = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            CandidateScorer.CandidateVector v = analysisIds[i] == null ? null : vectors.get(analysisIds[i]);
+            if (v != null) {
+                for (CandidateScorer.Requirement req : requirements) {
+                    (scorer.match(req, v) > 0 ? matched : missing).add(label(req));
+                }
+            }
+
+            content.add(new RankedCandidateDto(
+                    firstRank + i,
+                    a.applicationId(),
+                    a.candidateUserId(),
+                    user == null ? null : user.getDisplayName(),
+                    a.status(),
+                    Float.isNaN(scores[i]) ? null : Math.round(scores[i] * 1000) / 10.0,
+                    matched,
+                    missing));
+        }
+        return content;
+    }
+
+    private static String label(CandidateScorer.Requirement r) {
+        if (r.description() != null && !r.description().isBlank()) return r.description();
+        if (r.category() == CandidateScorer.Category.EXPERIENCE) {
+            if (r.maxYears() >= 0) return Math.max(r.minYears(), 0) + "-" + r.maxYears() + " years of experience";
+            if (r.minYears() > 0) return r.minYears() + "+ years of experience";
+        }
+        return r.category().name();
+    }
+}
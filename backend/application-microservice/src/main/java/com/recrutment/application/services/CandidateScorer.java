@@ -0,0 +1,225 @@
+package com.recrutment.application.services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recrutment.application.clients.JobClient;
+import com.recrutment.application.entities.CvAnalysis;
+import com.recrutment.application.repos.CvAnalysisMatchRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Scores a CV analysis against a job's weighted requirements.
+ *
+ * Both sides are compiled once into interned ids (see SkillDictionary): a candidate
+ * becomes a few BitSets plus years of experience, a requirement an int[] of term ids.
+ * Scoring a candidate is then a handful of BitSet lookups per requirement, no strings.
+ *
+ * Per requirement, in [0, 1]:
+ *   SKILL          1 if GitHub confirms any of its terms, 0.8 if only the CV lists it
+ *   LANGUAGE       1 if the CV lists any of its terms
+ *   CERTIFICATION  share of its words found in the candidate's certifications
+ *   EDUCATION      share of its words found in the candidate's degrees / fields
+ *   EXPERIENCE     1 within [minYears, maxYears], years/minYears below, 0.8 well above
+ * The total is the weighted mean (weight defaults to 1), so it stays in [0, 1].
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CandidateScorer {
+
+    static final float CV_ONLY_SKILL = 0.8f;
+    static final float OVERQUALIFIED = 0.8f;
+    // years beyond maxYears before it counts as overqualified
+    static final float OVERQUALIFIED_MARGIN = 2f;
+
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+
+    private final SkillDictionary dictionary;
+    private final ObjectMapper objectMapper;
+
+    public enum Category { SKILL, EXPERIENCE, EDUCATION, CERTIFICATION, LANGUAGE }
+
+    /**
+     * A candidate's latest analysis, in interned form. years is NaN when unknown.
+     * vocabulary is SkillDictionary.vocabulary() when it was compiled: terms with a
+     * higher id were added later and can't be in its sets.
+     */
+    public record CandidateVector(
+            BitSet skills,
+            BitSet githubSkills,
+            BitSet certificationWords,
+            BitSet educationWords,
+            BitSet languages,
+            float years,
+            int vocabulary
+    ) {}
+
+    /** minYears / maxYears are -1 when not set. */
+    public record Requirement(Category category, String description, int[] terms,
+                              float weight, int minYears, int maxYears) {}
+
+    public CandidateVector vector(CvAnalysisMatchRow row) {
+        // read before the lookups, so it never claims a term added while they ran
+        int vocabulary = dictionary.vocabulary();
+        BitSet certificationWords = new BitSet();
+        if (row.certifications() != null) {
+            for (String certification : row.certifications()) {
+                certificationWords.or(dictionary.words(certification));
+            }
+        }
+        BitSet educationWords = new BitSet();
+        if (row.education() != null) {
+            for (CvAnalysis.EducationEmbedded e : row.education()) {
+                if (e != null) educationWords.or(dictionary.words(e.getDegree(), e.getField()));
+            }
+        }
+        List<String> languages = new ArrayList<>();
+        if (row.languages() != null) {
+            for (CvAnalysis.LanguageEmbedded l : row.languages()) {
+                if (l != null && l.getName() != null) languages.add(l.getName());
+            }
+        }
+
+        float years = row.totalYearsExperience() != null
+                ? row.totalYearsExperience()
+                : seniorityYears(row.seniorityLevel());
+
+        return new CandidateVector(
+                dictionary.terms(row.skills()),
+                dictionary.terms(parseList(row.githubConfirmedSkills())),
+                certificationWords,
+                educationWords,
+                dictionary.terms(languages),
+                years,
+                vocabulary);
+    }
+
+    /** False if a requirement uses a term added after the candidate was compiled: compile it again. */
+    public boolean covers(Requirement[] requirements, CandidateVector v) {
+        for (Requirement r : requirements) {
+            for (int id : r.terms()) {
+                if (id >= v.vocabulary()) return false;
+            }
+        }
+        return true;
+    }
+
+    /** Requirements the engine can't use (unknown category, no terms, weight <= 0) are dropped. */
+    public Requirement[] compile(List<JobClient.RequirementDto> requirements) {
+        if (requirements == null) return new Requirement[0];
+        List<Requirement> out = new ArrayList<>(requirements.size());
+        for (JobClient.RequirementDto r : requirements) {
+            if (r == null || r.getCategory() == null) continue;
+            Category category;
+            try {
+                category = Category.valueOf(r.getCategory().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring requirement with unknown category {}", r.getCategory());
+                continue;
+            }
+            float weight = r.getWeight() == null ? 1f : r.getWeight().floatValue();
+            if (weight <= 0) continue;
+
+            int[] terms = switch (category) {
+                // "Java / Kotlin", "React, Angular": any of them will do
+                case SKILL, LANGUAGE -> anyOf(r.getDescription());
+                case EDUCATION, CERTIFICATION -> dictionary.wordIds(r.getDescription());
+                case EXPERIENCE -> new int[0];
+            };
+            if (terms.length == 0 && category != Category.EXPERIENCE) continue;
+
+            out.add(new Requirement(category, r.getDescription(), terms, weight,
+                    r.getMinYears() == null ? -1 : r.getMinYears(),
+                    r.getMaxYears() == null ? -1 : r.getMaxYears()));
+        }
+        return out.toArray(new Requirement[0]);
+    }
+
+    /** Weighted score in [0, 1]; 0 when the job has no usable requirement. */
+    public float score(Requirement[] requirements, CandidateVector v) {
+        float total = 0, weights = 0;
+        for (Requirement r : requirements) {
+            weights += r.weight();
+            total += r.weight() * match(r, v);
+        }
+        return weights == 0 ? 0 : total / weights;
+    }
+
+    public float match(Requirement r, CandidateVector v) {
+        return switch (r.category()) {
+            case SKILL -> {
+                float best = 0;
+                for (int id : r.terms()) {
+                    if (v.githubSkills().get(id)) return 1f;
+                    if (v.skills().get(id)) best = CV_ONLY_SKILL;
+                }
+                yield best;
+            }
+            case LANGUAGE -> anyIn(r.terms(), v.languages()) ? 1f : 0f;
+            case CERTIFICATION -> share(r.terms(), v.certificationWords());
+            case EDUCATION -> share(r.terms(), v.educationWords());
+            case EXPERIENCE -> experience(r, v.years());
+        };
+    }
+
+    private static float experience(Requirement r, float years) {
+        if (r.minYears() <= 0 && r.maxYears() < 0) return 1f;
+        if (Float.isNaN(years)) return 0f;
+        if (r.minYears() > 0 && years < r.minYears()) return years / r.minYears();
+        if (r.maxYears() >= 0 && years > r.maxYears() + OVERQUALIFIED_MARGIN) return OVERQUALIFIED;
+        return 1f;
+    }
+
+    private static boolean anyIn(int[] ids, BitSet set) {
+        for (int id : ids) {
+            if (set.get(id)) return true;
+        }
+        return false;
+    }
+
+    private static float share(int[] ids, BitSet set) {
+        int found = 0;
+        for (int id : ids) {
+            if (set.get(id)) found++;
+        }
+        return (float) found / ids.length;
+    }
+
+    private int[] anyOf(String description) {
+        if (description == null) return new int[0];
+        return Arrays.stream(description.split("[,/|]"))
+                .mapToInt(dictionary::intern)
+                .filter(id -> id != SkillDictionary.UNKNOWN)
+                .distinct()
+                .toArray();
+    }
+
+    private List<String> parseList(String json) {
+        if (json == null || json.isBlank()) return List.of();
+        try {
+            return objectMapper.readValue(json, STRING_LIST);
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+
+    // cv-parser's seniority thresholds: < 2 years JUNIOR, 2-5 MID, 5+ SENIOR
+    private static float seniorityYears(String seniority) {
+        if (seniority == null) return Float.NaN;
+        return switch (seniority.toUpperCase(Locale.ROOT)) {
+            case "INTERN" -> 0f;
+            case "JUNIOR" -> 1f;
+            case "MID" -> 3f;
+            case "SENIOR" -> 6f;
+            default -> Float.NaN;
+        };
+    }
+}
@@ -1,17 +1,48 @@
 package com.recrutment.application.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.recrutment.application.clients.CvParserClient;
+import com.recrutment.application.clients.CvParserUnavailableException;
 import com.recrutment.application.entities.Application;
 import com.recrutment.application.entities.CvAnalysis;
+import com.recrutment.application.enums.CvAnalysisSection;
+import com.recrutment.application.messaging.AppEventMessage;
+import com.recrutment.application.messaging.AppEventPublisher;
+import com.recrutment.application.messaging.CvAnalysisQueue;
+import com.recrutment.application.repos.ApplicationRepo;
 import com.recrutment.application.repos.CvAnalysisRepo;
+import com.recrutment.application.repos.CvAnalysisSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -20,42 +51,329 @@ public class CvAnalysisService {
 
     private final CvParserClient cvParserClient;
     private final CvAnalysisRepo cvAnalysisRepo;
+    private final CvStorageService cvStorage;
+    private final ApplicationRepo applicationRepo;
+    private final CvAnalysisQueue cvAnalysisQueue;
+    private final MeterRegistry meterRegistry;
+    private final AppEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper;
+
+    // parsingStatus of an analysis cv-parser could not produce (see CvParserClient)
+    private static final String FAILED = "FAILED";
+
+    // ?fields=section:skills asks for a CvAnalysisSection, see resolveField
+    private static final String SECTION_PREFIX = "section:";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    @Value("${app.cv-analysis.cache.max-age-days:30}")
+    private long cacheMaxAgeDays;
+
+    // bounds the IN list of /api/applications/analysis/batch
+    @Value("${app.cv-analysis.batch.max-ids:500}")
+    private int batchMaxIds;
+
+    // bump when cv-parser ships a new model: every analysis with an older version becomes
+    // stale (see CvBackfillService) and old results are no longer reused
+    @Value("${app.cv-analysis.model-version:}")
+    private String modelVersion;
+
+    public enum Outcome { ANALYZED, REUSED, UP_TO_DATE, MISSING }
+
+    @PostConstruct
+    void registerGauges() {
+        Gauge.builder("cv.analysis.in.flight", inFlight, AtomicInteger::get)
+                .description("CV analyses currently running on this instance")
+                .register(meterRegistry);
+        Gauge.builder("cv.analysis.cache.hit.ratio", this, CvAnalysisService::cacheHitRatio)
+                .description("Share of analyses served from an earlier result with the same CV hash + GitHub URL")
+                .register(meterRegistry);
+    }
+
+    private double cacheHitRatio() {
+        long hits = cacheHits.get();
+        long total = hits + cacheMisses.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Queue a CV analysis for the application on the durable work queue. Only the id
+     * travels with the job: the consumer reloads the application and opens its CV when
+     * it actually runs. Inside a transaction the job is published after commit, so the
+     * consumer can see the row.
+     */
+    public void submit(UUID applicationId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cvAnalysisQueue.enqueue(applicationId);
+                }
+            });
+        } else {
+            cvAnalysisQueue.enqueue(applicationId);
+        }
+    }
+
+    /**
+     * Runs one analysis; called by CvAnalysisJobListener. CV parsing and GitHub enrichment
+     * run in parallel inside the cv-parser-service (Python handles the threading), so this
+     * is one request per application. Failures are thrown so the caller can retry.
+     */
+    public Outcome analyze(UUID applicationId) {
+        return analyze(applicationId, null);
+    }
 
     /**
-     * Single async job — CV parsing and GitHub enrichment run in parallel
-     * inside the cv-parser-service (Python handles the threading).
-     * Spring Boot just sends one request and waits for the complete result.
+     * @param beforeParse run right before cv-parser is actually called (not for skipped or
+     *                    reused analyses), e.g. a throttle; may be null
      */
-    @Async
-    public void analyzeAsync(Application application) {
+    public Outcome analyze(UUID applicationId, Runnable beforeParse) {
+        inFlight.incrementAndGet();
         try {
-            log.info("Starting CV analysis for application: {}", application.getApplicationId());
+            Application application = stage("load").record(() -> applicationRepo.findById(applicationId).orElse(null));
+            if (application == null) {
+                log.warn("Application {} disappeared before its CV analysis ran", applicationId);
+                return Outcome.MISSING;
+            }
+
+            CvAnalysis latest = cvAnalysisRepo.findFirstByApplicationIdOrderByVersionDesc(applicationId).orElse(null);
+            String cacheKey = cacheKey(application.getCvBlobKey(), application.getGithubUrl(), modelVersion);
+
+            // delivery is at-least-once, and an update may not have changed the inputs:
+            // nothing to do if the latest version already covers this CV + GitHub URL + model
+            // (a FAILED version covers nothing: the rerun is the retry)
+            if (latest != null && !FAILED.equals(latest.getParsingStatus())
+                    && (cacheKey == null || cacheKey.equals(latest.getCacheKey()))) {
+                log.info("CV analysis for application {} is up to date (v{}), skipping", applicationId, latest.getVersion());
+                return Outcome.UP_TO_DATE;
+            }
+            int version = latest == null || latest.getVersion() == null ? 1 : latest.getVersion() + 1;
+
+            log.info("Starting CV analysis for application: {} (v{})", applicationId, version);
+
+            CvAnalysis analysis = stage("lookup").record(() -> reuse(cacheKey, applicationId));
+            Outcome outcome = analysis == null ? Outcome.ANALYZED : Outcome.REUSED;
+            if (analysis == null) {
+                if (beforeParse != null) beforeParse.run();
+                analysis = stage("parse").record(() -> cvParserClient.analyze(
+                        applicationId,
+                        cvStorage.open(application),
+                        application.getCvFileName(),
+                        application.getGithubUrl()  // passed to Python for parallel processing
+                ));
+                analysis.setReused(false);
+            }
+            analysis.setVersion(version);
+            analysis.setCvHash(application.getCvBlobKey());
+            // only a usable result is keyed, so nothing ever matches a failed parse
+            analysis.setCacheKey(FAILED.equals(analysis.getParsingStatus()) ? null : cacheKey);
+            analysis.setModelVersion(modelVersion.isBlank() ? null : modelVersion);
+
+            CvAnalysis toSave = analysis;
+
+            stage("persist").record(() -> cvAnalysisRepo.save(toSave));
+            log.info("CV analysis v{} saved for application: {}", version, applicationId);
+            try {
+                publishAnalysisSaved(application, toSave);
+            } catch (RuntimeException e) {
+                // the analysis itself is saved; the rankings pick it up on their next rebuild
+                log.warn("Could not update the ranking of job {} for application {}: {}",
+                        application.getJobId(), applicationId, e.getMessage());
+            }
+            return outcome;
+
+        } catch (CvParserUnavailableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            meterRegistry.counter("cv.analysis.failed").increment();
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    // broadcast, not a local call: this replica only took the job off the shared work
+    // queue, and every replica holds its own JobRankingCache (see ReferenceDataEventsListener)
+    private void publishAnalysisSaved(Application application, CvAnalysis analysis) {
+        // a failed parse changes no ranking: the candidate keeps their last successful analysis
+        if (application.getJobId() == null || FAILED.equals(analysis.getParsingStatus())) return;
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("jobId", application.getJobId().toString());
+        payload.put("analysisId", analysis.getId().toString());
+        if (application.getAppliedAt() != null) payload.put("appliedAt", application.getAppliedAt().toString());
+
+        AppEventMessage.Target target = new AppEventMessage.Target();
+        target.setType("APPLICATION");
+        target.setId(application.getApplicationId().toString());
+
+        AppEventMessage evt = new AppEventMessage();
+        evt.setEventType("CV_ANALYSIS_SAVED");
+        evt.setProducer("application-microservice");
+        evt.setTarget(target);
+        evt.setPayload(payload);
+        eventPublisher.publish("ranking.application", evt);
+    }
+
+    /**
+     * Same CV bytes + same GitHub URL give the same analysis, so a recent successful
+     * result for that key is copied instead of calling cv-parser again (a candidate
+     * applying to several jobs with one CV, or re-uploading the same PDF).
+     */
+    private CvAnalysis reuse(String cacheKey, UUID applicationId) {
+        if (cacheKey == null) return null;   // legacy CV not moved to the blob store yet
+
+        Instant notBefore = Instant.now().minus(Duration.ofDays(cacheMaxAgeDays));
+        CvAnalysis source = cvAnalysisRepo
+                .findFirstByCacheKeyAndParsingStatusNotAndAnalyzedAtAfterOrderByAnalyzedAtDesc(cacheKey, FAILED, notBefore)
+                .orElse(null);
+        if (source == null) {
+            cacheMisses.incrementAndGet();
+            meterRegistry.counter("cv.analysis.cache", "result", "miss").increment();
+            return null;
+        }
 
-            CvAnalysis analysis = cvParserClient.analyze(
-                    application.getApplicationId(),
-                    application.getCvFile(),
-                    application.getCvFileName(),
-                    application.getGithubUrl()  // passed to Python for parallel processing
-            );
+        cacheHits.incrementAndGet();
+        meterRegistry.counter("cv.analysis.cache", "result", "hit").increment();
+        log.info("Reusing CV analysis {} for application {}", source.getId(), applicationId);
 
-            cvAnalysisRepo.save(analysis);
-            log.info("CV analysis saved for application: {}", application.getApplicationId());
+        // deep copy through JSON: the jsonb columns must not share mutable lists
+        CvAnalysis copy = objectMapper.convertValue(source, CvAnalysis.class);
+        copy.setId(null);
+        copy.setApplicationId(applicationId);
+        copy.setReused(true);
+        return copy;
+    }
 
-        } catch (Exception e) {
-            log.error("CV analysis failed for application {}: {}",
-                    application.getApplicationId(), e.getMessage());
+    // keys from before model versions existed have no model part, so a blank version keeps them valid
+    static String cacheKey(String cvHash, String githubUrl, String modelVersion) {
+        if (cvHash == null) return null;
+        String github = githubUrl == null ? "" : githubUrl.trim().toLowerCase(Locale.ROOT);
+        while (github.endsWith("/")) github = github.substring(0, github.length() - 1);
+        String input = cvHash + "\n" + github;
+        if (modelVersion != null && !modelVersion.isBlank()) input += "\n" + modelVersion.trim();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
+    // cv.analysis.stage{stage=load|lookup|parse|persist}
+    private Timer stage(String name) {
+        return Timer.builder("cv.analysis.stage")
+                .tag("stage", name)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /** Latest analysis, i.e. the one for the application's current CV. */
     public CvAnalysis getAnalysis(UUID applicationId) {
-        return cvAnalysisRepo.findByApplicationId(applicationId)
+        return cvAnalysisRepo.findFirstByApplicationIdOrderByVersionDesc(applicationId)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND,
                         "CV analysis not found for application: " + applicationId
                 ));
     }
 
+    public CvAnalysis getAnalysis(UUID applicationId, int version) {
+        return cvAnalysisRepo.findByApplicationIdAndVersion(applicationId, version)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "CV analysis v" + version + " not found for application: " + applicationId
+                ));
+    }
+
+    /** All versions, newest first. */
+    public List<CvAnalysis> getAnalysisHistory(UUID applicationId) {
+        return cvAnalysisRepo.findByApplicationIdOrderByVersionDesc(applicationId);
+    }
+
     public boolean hasAnalysis(UUID applicationId) {
         return cvAnalysisRepo.existsByApplicationId(applicationId);
     }
+
+    /** Compact view of the latest analysis for list screens, without any of the jsonb sections. */
+    public CvAnalysisSummary getAnalysisSummary(UUID applicationId) {
+        return cvAnalysisRepo.findLatestSummary(applicationId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "CV analysis not found for application: " + applicationId
+                ));
+    }
+
+    /**
+     * Summaries of the latest analyses of several applications, from one query.
+     * Applications without an analysis are simply absent from the result.
+     */
+    public List<CvAnalysisSummary> getAnalysisSummaries(Collection<UUID> applicationIds) {
+        Set<UUID> ids = checkBatch(applicationIds);
+        return ids.isEmpty() ? List.of() : cvAnalysisRepo.findLatestSummaries(ids);
+    }
+
+    /** Which of the given applications have an analysis, one entry per requested id. */
+    public Map<UUID, Boolean> hasAnalyses(Collection<UUID> applicationIds) {
+        Set<UUID> ids = checkBatch(applicationIds);
+        Set<UUID> analyzed = ids.isEmpty() ? Set.of() : new HashSet<>(cvAnalysisRepo.findAnalyzedApplicationIds(ids));
+        Map<UUID, Boolean> exists = new LinkedHashMap<>();
+        for (UUID id : ids) {
+            exists.put(id, analyzed.contains(id));
+        }
+        return exists;
+    }
+
+    private Set<UUID> checkBatch(Collection<UUID> applicationIds) {
+        Set<UUID> ids = new LinkedHashSet<>();
+        if (applicationIds != null) {
+            for (UUID id : applicationIds) {
+                if (id != null) ids.add(id);
+            }
+        }
+        if (ids.size() > batchMaxIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + batchMaxIds + " application ids per batch");
+        }
+        return ids;
+    }
+
+    /**
+     * Only the requested parts of the latest analysis. {@code fields} is a comma separated
+     * list of section names (summary, skills, github, ... see CvAnalysisSection) and/or
+     * single attribute names (seniorityLevel, evaluation, ...). Only those columns are read.
+     */
+    public Map<String, Object> getAnalysisFields(UUID applicationId, String fields) {
+        Set<String> attributes = new LinkedHashSet<>(CvAnalysisSection.IDENTITY);
+        for (String token : fields.split(",")) {
+            String field = token.trim();
+            if (field.isEmpty()) continue;
+            attributes.addAll(resolveField(field));
+        }
+        return cvAnalysisRepo.findLatestFields(applicationId, attributes)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "CV analysis not found for application: " + applicationId
+                ));
+    }
+
+    // "section:summary" is a group of columns, a bare "summary" the column itself
+    private static List<String> resolveField(String field) {
+        if (field.regionMatches(true, 0, SECTION_PREFIX, 0, SECTION_PREFIX.length())) {
+            String name = field.substring(SECTION_PREFIX.length()).trim();
+            for (CvAnalysisSection section : CvAnalysisSection.values()) {
+                if (section.name().equalsIgnoreCase(name)) return section.attributes();
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown CV analysis section: " + name);
+        }
+        for (CvAnalysisSection section : CvAnalysisSection.values()) {
+            if (section.attributes().contains(field)) return List.of(field);
+        }
+        if (CvAnalysisSection.IDENTITY.contains(field)) return List.of();
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown CV analysis field: " + field);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,277 @@
+package com.recrutment.application.services;
+
+import com.recrutment.application.clients.CvParserUnavailableException;
+import com.recrutment.application.entities.CvBackfillJob;
+import com.recrutment.application.enums.BackfillStatus;
+import com.recrutment.application.messaging.CvAnalysisQueue;
+import com.recrutment.application.repos.ApplicationRepo;
+import com.recrutment.application.repos.CvBackfillJobRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-runs CV analysis over every application, e.g. after cv-parser ships a new scoring
+ * model (bump app.cv-analysis.model-version first, otherwise every analysis is up to
+ * date and gets skipped).
+ *
+ * Applications are walked in application_id keyset pages. Each page is analysed by at most
+ * {@code concurrency} workers, parser calls are spaced to {@code requestsPerSecond}, and the
+ * job row is checkpointed after every page, so a restart resumes from the last page.
+ * Only one instance runs a job at a time: while it runs, the owner refreshes heartbeatAt
+ * every third of the lease, however long a (throttled) page takes, and another instance
+ * takes over only once that lease has gone stale. A unique partial index on RUNNING
+ * (see LegacySchemaFixes) keeps two instances from starting a job at the same time.
+ * Every start, resume and takeover stamps the job with a new runId; a run loop stops as
+ * soon as the row carries another one, and its checkpoints no longer apply, so a pause
+ * followed by a resume never leaves two loops counting the same job.
+ * Analyses that still fail here are handed to the work queue's retries / parking.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CvBackfillService {
+
+    private static final UUID START = new UUID(0L, 0L);
+    private static final Duration LEASE = Duration.ofMinutes(5);
+    private static final int UNAVAILABLE_RETRIES = 3;
+
+    private final CvBackfillJobRepo jobRepo;
+    private final ApplicationRepo applicationRepo;
+    private final CvAnalysisService cvAnalysisService;
+    private final CvAnalysisQueue cvAnalysisQueue;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${app.cv-backfill.page-size:100}")
+    private int pageSize;
+
+    @Value("${app.cv-backfill.unavailable-backoff-ms:10000}")
+    private long unavailableBackoffMs;
+
+    @Value("${app.cv-analysis.model-version:}")
+    private String modelVersion;
+
+    public record Progress(CvBackfillJob job, double percent) {}
+
+    public synchronized Progress start(int concurrency, double requestsPerSecond) {
+        if (jobRepo.existsByStatus(BackfillStatus.RUNNING)) {
+            throw new IllegalStateException("A CV backfill is already running");
+        }
+        Instant now = Instant.now();
+        UUID runId = UUID.randomUUID();
+        CvBackfillJob job;
+        try {
+            // the check above is only a fast path: another instance may insert in between
+            job = jobRepo.save(CvBackfillJob.builder()
+                    .id(UUID.randomUUID())
+                    .status(BackfillStatus.RUNNING)
+                    .total(applicationRepo.count())
+                    .concurrency(concurrency)
+                    .requestsPerSecond(requestsPerSecond)
+                    .modelVersion(modelVersion.isBlank() ? null : modelVersion)
+                    .owner(instanceId)
+                    .runId(runId)
+                    .heartbeatAt(now)
+                    .startedAt(now)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("A CV backfill is already running");
+        }
+        launch(job.getId(), runId);
+        return progress(job);
+    }
+
+    public Progress pause(UUID id) {
+        if (jobRepo.transition(id, BackfillStatus.RUNNING, BackfillStatus.PAUSED, null) == 0) {
+            throw new IllegalStateException("CV backfill " + id + " is not running");
+        }
+        return get(id).orElseThrow();
+    }
+
+    public synchronized Progress resume(UUID id) {
+        if (jobRepo.existsByStatus(BackfillStatus.RUNNING)) {
+            throw new IllegalStateException("A CV backfill is already running");
+        }
+        UUID runId = UUID.randomUUID();
+        try {
+            if (jobRepo.transition(id, BackfillStatus.PAUSED, BackfillStatus.RUNNING, null) == 0
+                    || jobRepo.claim(id, instanceId, runId, Instant.now(), Instant.now()) == 0) {
+                throw new IllegalStateException("CV backfill " + id + " is not paused");
+            }
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("A CV backfill is already running");
+        }
+        launch(id, runId);
+        return get(id).orElseThrow();
+    }
+
+    public Optional<Progress> get(UUID id) {
+        return jobRepo.findById(id).map(this::progress);
+    }
+
+    public Optional<Progress> latest() {
+        return jobRepo.findFirstByOrderByStartedAtDesc().map(this::progress);
+    }
+
+    // pick up jobs whose owner died (or was this instance before a restart)
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (CvBackfillJob job : jobRepo.findByStatus(BackfillStatus.RUNNING)) {
+            Instant now = Instant.now();
+            UUID runId = UUID.randomUUID();
+            if (jobRepo.claim(job.getId(), instanceId, runId, now, now.minus(LEASE)) == 1) {
+                log.info("Resuming CV backfill {} after {}", job.getId(), job.getLastApplicationId());
+                launch(job.getId(), runId);
+            }
+        }
+    }
+
+    private Progress progress(CvBackfillJob job) {
+        double percent = job.getTotal() == 0 ? 100 : Math.min(100, 100.0 * job.getProcessed() / job.getTotal());
+        return new Progress(job, percent);
+    }
+
+    private void launch(UUID jobId, UUID runId) {
+        Thread.ofVirtual().name("cv-backfill-" + jobId).start(() -> run(jobId, runId));
+    }
+
+    private void run(UUID jobId, UUID runId) {
+        CvBackfillJob job = jobRepo.findById(jobId).orElse(null);
+        if (job == null) return;
+
+        Throttle throttle = new Throttle(job.getRequestsPerSecond());
+        Thread heartbeat = Thread.ofVirtual().name("cv-backfill-heartbeat-" + jobId).start(() -> renewLease(jobId, runId));
+        try (ExecutorService workers = Executors.newFixedThreadPool(
+                Math.max(job.getConcurrency(), 1), Thread.ofVirtual().name("cv-backfill-worker-", 0).factory())) {
+
+            while (true) {
+                CvBackfillJob current = jobRepo.findById(jobId).orElse(null);
+                if (current == null || current.getStatus() != BackfillStatus.RUNNING
+                        || !runId.equals(current.getRunId())) {
+                    log.info("CV backfill {} stopped on this instance", jobId);
+                    return;
+                }
+
+                UUID after = current.getLastApplicationId() == null ? START : current.getLastApplicationId();
+                List<UUID> ids = applicationRepo.findIdsAfter(after, PageRequest.of(0, pageSize));
+                if (ids.isEmpty()) {
+                    jobRepo.transition(jobId, BackfillStatus.RUNNING, BackfillStatus.COMPLETED, Instant.now());
+                    log.info("CV backfill {} completed", jobId);
+                    return;
+                }
+
+                List<Future<CvAnalysisService.Outcome>> futures = new ArrayList<>(ids.size());
+                for (UUID applicationId : ids) {
+                    futures.add(workers.submit(() -> analyzeOne(applicationId, throttle)));
+                }
+
+                long analyzed = 0, reused = 0, upToDate = 0, failed = 0;
+                for (Future<CvAnalysisService.Outcome> f : futures) {
+                    try {
+                        switch (f.get()) {
+                            case ANALYZED -> analyzed++;
+                            case REUSED -> reused++;
+                            case UP_TO_DATE, MISSING -> upToDate++;
+                        }
+                    } catch (ExecutionException e) {
+                        failed++;
+                    }
+                }
+
+                if (jobRepo.checkpoint(jobId, runId, ids.getLast(), ids.size(),
+                        analyzed, reused, upToDate, failed, Instant.now()) == 0) {
+                    // resumed or taken over while this page ran: that run counts it again
+                    log.info("CV backfill {} stopped on this instance", jobId);
+                    return;
+                }
+                log.info("CV backfill {}: page up to {} done ({} analyzed, {} reused, {} up to date, {} failed)",
+                        jobId, ids.getLast(), analyzed, reused, upToDate, failed);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // left RUNNING: another instance (or this one after a restart) takes over once the lease expires
+            log.error("CV backfill {} crashed: {}", jobId, e.getMessage(), e);
+        } finally {
+            heartbeat.interrupt();
+        }
+    }
+
+    // one page can take longer than the lease (a low requestsPerSecond), so the lease
+    // is renewed on a timer for as long as run() works on the job, not only at checkpoints
+    private void renewLease(UUID jobId, UUID runId) {
+        while (true) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(LEASE.toMillis() / 3);
+                if (jobRepo.heartbeat(jobId, runId, Instant.now()) == 0) return;   // taken over
+            } catch (InterruptedException e) {
+                return;   // run() is done
+            } catch (RuntimeException e) {
+                log.warn("CV backfill {}: lease renewal failed, retrying: {}", jobId, e.getMessage());
+            }
+        }
+    }
+
+    private CvAnalysisService.Outcome analyzeOne(UUID applicationId, Throttle throttle) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return cvAnalysisService.analyze(applicationId, throttle::acquire);
+            } catch (CvParserUnavailableException e) {
+                if (attempt > UNAVAILABLE_RETRIES) {
+                    cvAnalysisQueue.park(applicationId, 1);
+                    throw e;
+                }
+                TimeUnit.MILLISECONDS.sleep(unavailableBackoffMs);
+            } catch (RuntimeException e) {
+                cvAnalysisQueue.retryOrDeadLetter(applicationId, 1, e.getMessage());
+                throw e;
+            }
+        }
+    }
+
+    /** Spaces calls evenly: each caller reserves the next free slot and sleeps until then. */
+    private static final class Throttle {
+
+        private final long intervalNanos;
+        private long nextSlot = System.nanoTime();
+
+        Throttle(double requestsPerSecond) {
+            this.intervalNanos = requestsPerSecond <= 0 ? 0 : (long) (1_000_000_000L / requestsPerSecond);
+        }
+
+        void acquire() {
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = Math.max(now, nextSlot);
+                nextSlot = slot + intervalNanos;
+                wait = slot - now;
+            }
+            if (wait <= 0) return;
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while throttling", e);
+            }
+        }
+    }
+}
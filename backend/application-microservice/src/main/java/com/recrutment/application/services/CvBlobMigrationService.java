@@ -0,0 +1,111 @@
+package com.recrutment.application.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves CV bytes still stored in application.cv_file into the content-addressed store.
+ * Works in batches of ids and loads one CV at a time; each row is switched over with its
+ * own conditional UPDATE, so the job can be stopped and re-run at any point.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CvBlobMigrationService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CvStorageService cvStorage;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public record MigrationResult(int migrated, int failed, long remaining) {}
+
+    public MigrationResult migrate(int batchSize, int maxBatches) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("CV migration already running");
+        }
+        try {
+            int migrated = 0;
+            int failed = 0;
+
+            for (int batch = 0; batch < maxBatches; batch++) {
+                // skip rows that already failed in this run so one bad row can't stall the loop
+                List<UUID> ids = jdbcTemplate.queryForList(
+                        "SELECT application_id FROM application " +
+                                "WHERE cv_file IS NOT NULL AND cv_blob_key IS NULL " +
+                                "ORDER BY application_id LIMIT ? OFFSET ?",
+                        UUID.class, batchSize, failed);
+                if (ids.isEmpty()) break;
+
+                for (UUID id : ids) {
+                    if (migrateOne(id)) migrated++;
+                    else failed++;
+                }
+                log.info("CV migration: {} moved, {} failed so far", migrated, failed);
+            }
+
+            return new MigrationResult(migrated, failed, remaining());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public long remaining() {
+        Long n = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM application WHERE cv_file IS NOT NULL AND cv_blob_key IS NULL", Long.class);
+        return n == null ? 0 : n;
+    }
+
+    private boolean migrateOne(UUID id) {
+        try {
+            // one transaction per row: the stored blob stays locked against collection until the row points at it
+            Boolean migrated = transactionTemplate.execute(tx -> moveToBlobStore(id));
+            return Boolean.TRUE.equals(migrated);
+        } catch (Exception e) {
+            log.error("CV migration failed for application {}: {}", id, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean moveToBlobStore(UUID id) {
+        List<CvStorageService.StoredCv> stored = jdbcTemplate.query(
+                "SELECT cv_file FROM application WHERE application_id = ? AND cv_file IS NOT NULL",
+                (rs, i) -> {
+                    try (InputStream in = rs.getBinaryStream(1)) {
+                        return cvStorage.store(in);
+                    } catch (java.io.IOException e) {
+                        throw new java.io.UncheckedIOException(e);
+                    }
+                },
+                id);
+        if (stored.isEmpty()) return false;
+
+        CvStorageService.StoredCv cv = stored.get(0);
+        int updated = jdbcTemplate.update(
+                "UPDATE application SET cv_blob_key = ?, cv_size = ?, cv_file = NULL " +
+                        "WHERE application_id = ? AND cv_blob_key IS NULL",
+                cv.key(), cv.size(), id);
+        if (updated == 0 && cv.created()) {
+            // row changed under us (CV re-uploaded); don't leave an orphan behind.
+            // Only once this transaction has released its lock on the blob
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cvStorage.deleteIfUnreferenced(cv.key());
+                }
+            });
+        }
+        return updated == 1;
+    }
+}
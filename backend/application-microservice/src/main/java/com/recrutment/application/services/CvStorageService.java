@@ -0,0 +1,178 @@
+package com.recrutment.application.services;
+
+import com.recrutment.application.entities.Application;
+import com.recrutment.application.repos.ApplicationRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Content-addressed CV store on the local filesystem.
+ * A CV is stored once under the SHA-256 of its bytes, so identical uploads share one file
+ * and {@link Application} only keeps the hash. Uploads are hashed while they are streamed
+ * to disk and downloads are served as a {@link Resource}, so memory per request stays constant.
+ * Rows not yet moved by {@link CvBlobMigrationService} are still read from the legacy cv_file column.
+ *
+ * Blobs are shared, so storing one and deleting it are serialized per key with a PostgreSQL
+ * advisory lock: an upload holds it shared until its transaction ends, and the collector takes
+ * it exclusively around the "still referenced?" check and the delete. A deduplicated upload can
+ * therefore never point its row at a blob that is being deleted, whichever replica runs what.
+ *
+ * The store is a plain directory (app.cv.storage-dir), so it is only as shared as that
+ * directory: every replica must mount the same volume (NFS, EFS, a ReadWriteMany claim).
+ * On instance-local disk, run a single replica, or a CV uploaded to one instance can't be
+ * downloaded, parsed or collected from another.
+ */
+@Service
+@Slf4j
+public class CvStorageService {
+
+    private final Path root;
+    private final ApplicationRepo repo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTx;
+
+    public CvStorageService(@Value("${app.cv.storage-dir:data/cv}") String storageDir,
+                            ApplicationRepo repo,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        this.root = Paths.get(storageDir).toAbsolutePath().normalize();
+        this.repo = repo;
+        this.jdbcTemplate = jdbcTemplate;
+        // collection runs after the caller's transaction completed, so it needs its own
+        this.newTx = new TransactionTemplate(transactionManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create CV storage dir " + root, e);
+        }
+    }
+
+    /**
+     * @param key     SHA-256 of the content, hex encoded
+     * @param created false when an identical CV was already stored
+     */
+    public record StoredCv(String key, long size, boolean created) {}
+
+    public StoredCv store(MultipartFile cv) throws IOException {
+        try (InputStream in = cv.getInputStream()) {
+            return store(in);
+        }
+    }
+
+    /**
+     * Must run inside the transaction that saves the key on its application row: the blob is
+     * protected from {@link #deleteIfUnreferenced} until that transaction ends.
+     */
+    public StoredCv store(InputStream in) throws IOException {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("CV blobs must be stored inside a transaction");
+        }
+        // write to a temp file first: the key is only known once the whole stream is hashed
+        Path tmp = Files.createTempFile(root, "upload-", ".part");
+        try {
+            MessageDigest sha256 = sha256();
+            long size;
+            try (DigestInputStream digestIn = new DigestInputStream(in, sha256)) {
+                size = Files.copy(digestIn, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String key = HexFormat.of().formatHex(sha256.digest());
+
+            // once we hold it, a collector either already deleted the blob (we move ours in)
+            // or waits for our commit and then sees the row that references it
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock_shared(hashtext(?))", rs -> {}, key);
+
+            Path target = resolve(key);
+            if (Files.exists(target)) {
+                return new StoredCv(key, size, false);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                return new StoredCv(key, size, true);
+            } catch (FileAlreadyExistsException e) {
+                // same CV uploaded concurrently
+                return new StoredCv(key, size, false);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public Resource open(Application app) {
+        if (app.getCvBlobKey() != null) {
+            Path path = resolve(app.getCvBlobKey());
+            if (!Files.isReadable(path)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "CV file missing for application: " + app.getApplicationId());
+            }
+            return new FileSystemResource(path);
+        }
+
+        List<byte[]> legacy = jdbcTemplate.query(
+                "SELECT cv_file FROM application WHERE application_id = ? AND cv_file IS NOT NULL",
+                (rs, i) -> rs.getBytes(1),
+                app.getApplicationId());
+        if (!legacy.isEmpty()) {
+            return new ByteArrayResource(legacy.get(0));
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No CV for application: " + app.getApplicationId());
+    }
+
+    // blobs are shared between applications, so only drop them once nothing points at them
+    public void deleteIfUnreferenced(String key) {
+        if (key == null) return;
+        newTx.executeWithoutResult(tx -> {
+            // waits for uploads of the same blob that have not committed yet
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext(?))", rs -> {}, key);
+            if (repo.existsByCvBlobKey(key)) return;
+            try {
+                Files.deleteIfExists(resolve(key));
+            } catch (IOException e) {
+                log.warn("Could not delete CV blob {}: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    // two-level fan-out keeps directories small: ab/cd/abcd...
+    private Path resolve(String key) {
+        Path path = root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid CV key: " + key);
+        }
+        return path;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.recrutment.application.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.recrutment.application.dto.PageResponse;
+import com.recrutment.application.dto.RankedCandidateDto;
+import com.recrutment.application.repos.ApplicationRepo;
+import com.recrutment.application.repos.ApplicationSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Materialized top-K ranking per job, so a recruiter page load doesn't re-score every
+ * applicant (see CandidateRankingService for the scoring itself).
+ *
+ * A job's ranking is built on first read and then maintained incrementally:
+ *  - a new CV analysis re-scores that one candidate and moves it into place;
+ *  - a JOB_UPDATED event that changed the requirements rebuilds the whole ranking in
+ *    the background, and the previous ranking is served until the new one is ready.
+ * Only the best K scored candidates are kept. Pages inside them are served from memory
+ * (plus one query for the page's rows and one count); pages past them, including the
+ * applicants not analyzed yet, fall back to a full ranking.
+ *
+ * Every replica keeps its own rankings: analyses reach all of them as CV_ANALYSIS_SAVED
+ * events (see ReferenceDataEventsListener), whichever replica ran them.
+ *
+ * Rankings are immutable snapshots swapped atomically, so reads never lock. Cold jobs
+ * are evicted once idle, and the number of cached jobs is capped (cache=job-rankings).
+ * A ranking is also dropped a while after it was built, however busy its job is, so an
+ * update lost on the way (a broker outage) can't leave it wrong for good.
+ */
+@Service
+@Slf4j
+public class JobRankingCache {
+
+    private final CandidateRankingService rankingService;
+    private final CandidateScorer scorer;
+    private final ApplicationRepo applicationRepo;
+    private final Cache<UUID, JobRanking> jobRankingCache;
+
+    // jobs with a rebuild in flight; also serializes every update of one job's ranking
+    private final ConcurrentHashMap<UUID, Rebuild> rebuilding = new ConcurrentHashMap<>();
+    private final ExecutorService rebuildExecutor;
+
+    @Value("${app.ranking.top-k:1000}")
+    private int topK;
+
+    public JobRankingCache(CandidateRankingService rankingService, CandidateScorer scorer,
+                           ApplicationRepo applicationRepo, Cache<UUID, JobRanking> jobRankingCache,
+                           @Qualifier("jobRankingRebuildExecutor") ExecutorService rebuildExecutor) {
+        this.rankingService = rankingService;
+        this.scorer = scorer;
+        this.applicationRepo = applicationRepo;
+        this.jobRankingCache = jobRankingCache;
+        this.rebuildExecutor = rebuildExecutor;
+    }
+
+    /** One scored candidate; ties are broken by application date, like the full ranking. */
+    public record Entry(UUID applicationId, UUID analysisId, float score, long appliedAt) {
+
+        boolean before(Entry other) {
+            if (score != other.score) return score > other.score;
+            return appliedAt < other.appliedAt;
+        }
+    }
+
+    /**
+     * Best-first entries, and the requirements they were scored against.
+     * truncated: more candidates were scored than kept, so anything ranking below the
+     * last entry can't be placed without a full ranking.
+     * builtAt: System.nanoTime() of the full build; incremental updates keep it.
+     */
+    public record JobRanking(CandidateScorer.Requirement[] requirements, Entry[] entries, boolean truncated,
+                             long builtAt) {
+
+        JobRanking with(Entry entry, int topK) {
+            List<Entry> next = new ArrayList<>(entries.length + 1);
+            for (Entry e : entries) {
+                if (!e.applicationId().equals(entry.applicationId())) next.add(e);
+            }
+            int pos = 0;
+            while (pos < next.size() && next.get(pos).before(entry)) pos++;
+            // below every kept entry of a truncated ranking: its real rank is unknown
+            if (pos < next.size() || !truncated) next.add(pos, entry);
+
+            boolean cut = truncated;
+            if (next.size() > topK) {
+                next = next.subList(0, topK);
+                cut = true;
+            }
+            return new JobRanking(requirements, next.toArray(new Entry[0]), cut, builtAt);
+        }
+    }
+
+    private static final class Rebuild {
+        final List<Pending> pending = new ArrayList<>();
+        boolean requested;
+        // the job was deleted meanwhile: the result is thrown away
+        boolean dropped;
+    }
+
+    // an analysis that arrived while a rebuild was running, replayed onto its result
+    private record Pending(UUID applicationId, UUID analysisId, CandidateScorer.CandidateVector vector, long appliedAt) {}
+
+    public PageResponse<RankedCandidateDto> rankedPage(UUID jobId, int page, int size) {
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.min(Math.max(size, 1), CandidateRankingService.MAX_PAGE_SIZE);
+
+        JobRanking ranking = jobRankingCache.get(jobId, this::build);
+        long total = applicationRepo.countByJobId(jobId);
+        int from = (int) Math.min((long) safePage * safeSize, total);
+        int to = (int) Math.min((long) from + safeSize, total);
+        if (to > ranking.entries().length) {
+            return rankingService.rankedPage(jobId, safePage, safeSize);
+        }
+
+        Entry[] slice = Arrays.copyOfRange(ranking.entries(), from, to);
+        Map<UUID, ApplicationSummary> byId = new HashMap<>();
+        for (ApplicationSummary a : applicationRepo.findSummaryByApplicationIdIn(
+                Arrays.stream(slice).map(Entry::applicationId).toList())) {
+            byId.put(a.applicationId(), a);
+        }
+
+        List<ApplicationSummary> rows = new ArrayList<>(slice.length);
+        float[] scores = new float[slice.length];
+        UUID[] analysisIds = new UUID[slice.length];
+        for (Entry e : slice) {
+            ApplicationSummary a = byId.get(e.applicationId());
+            if (a == null) continue;   // deleted since the ranking was built
+            scores[rows.size()] = e.score();
+            analysisIds[rows.size()] = e.analysisId();
+            rows.add(a);
+        }
+
+        List<RankedCandidateDto> content = rankingService.toDtos(rows,
+                Arrays.copyOf(scores, rows.size()), Arrays.copyOf(analysisIds, rows.size()),
+                from + 1, ranking.requirements());
+        int totalPages = (int) Math.ceil((double) total / safeSize);
+        return new PageResponse<>(content, safePage, safeSize, total, totalPages);
+    }
+
+    /** A new analysis was saved: move that candidate into place, if the job is cached. */
+    public void onAnalysis(UUID jobId, UUID applicationId, UUID analysisId, Instant appliedAt) {
+        if (jobId == null || (!jobRankingCache.asMap().containsKey(jobId) && !rebuilding.containsKey(jobId))) {
+            return;   // cold job: built from scratch on its next read
+        }
+        CandidateScorer.CandidateVector vector = rankingService.vectors(List.of(analysisId)).get(analysisId);
+        if (vector == null) return;
+        long applied = millis(appliedAt);
+
+        rebuilding.compute(jobId, (id, running) -> {
+            if (running != null) running.pending.add(new Pending(applicationId, analysisId, vector, applied));
+            // a requirement term newer than the vector: drop the ranking, the next read rebuilds it
+            jobRankingCache.asMap().computeIfPresent(id, (k, ranking) -> !scorer.covers(ranking.requirements(), vector)
+                    ? null
+                    : ranking.with(new Entry(applicationId, analysisId,
+                            scorer.score(ranking.requirements(), vector), applied), topK));
+            return running;
+        });
+    }
+
+    /** The job's requirements changed: recompute its ranking in the background. */
+    public void onRequirementsChanged(UUID jobId) {
+        if (!jobRankingCache.asMap().containsKey(jobId)) return;
+        rebuilding.compute(jobId, (id, running) -> {
+            if (running != null) {
+                // the running rebuild may have read the old requirements: go again after it
+                running.requested = true;
+                return running;
+            }
+            rebuildExecutor.execute(() -> rebuild(id));
+            return new Rebuild();
+        });
+    }
+
+    /** The job was deleted: forget its ranking, including one being rebuilt. */
+    public void onJobDeleted(UUID jobId) {
+        rebuilding.computeIfPresent(jobId, (id, running) -> {
+            running.dropped = true;
+            return running;
+        });
+        jobRankingCache.invalidate(jobId);
+    }
+
+    private void rebuild(UUID jobId) {
+        JobRanking fresh;
+        try {
+            fresh = build(jobId);
+        } catch (Exception e) {
+            log.warn("Ranking rebuild failed for job {}, dropping it: {}", jobId, e.getMessage());
+            rebuilding.remove(jobId);
+            jobRankingCache.invalidate(jobId);
+            return;
+        }
+
+        boolean[] again = {false};
+        rebuilding.compute(jobId, (id, running) -> {
+            if (running != null && running.dropped) return null;
+            JobRanking ranking = fresh;
+            if (running != null) {
+                for (Pending p : running.pending) {
+                    if (!scorer.covers(ranking.requirements(), p.vector())) {
+                        ranking = null;   // compiled before this build's requirements: rebuild on read
+                        break;
+                    }
+                    ranking = ranking.with(new Entry(p.applicationId(), p.analysisId(),
+                            scorer.score(ranking.requirements(), p.vector()), p.appliedAt()), topK);
+                }
+            }
+            if (ranking == null) jobRankingCache.invalidate(id);
+            else jobRankingCache.put(id, ranking);
+            if (running != null && running.requested) {
+                again[0] = true;
+                return new Rebuild();
+            }
+            return null;
+        });
+        if (again[0]) rebuildExecutor.execute(() -> rebuild(jobId));
+        log.info("Ranking of job {} rebuilt ({} candidates kept)", jobId, fresh.entries().length);
+    }
+
+    private JobRanking build(UUID jobId) {
+        CandidateScorer.Requirement[] requirements = rankingService.requirements(jobId);
+        CandidateRankingService.Ranking ranking = rankingService.rank(jobId, requirements);
+
+        // scored candidates come first, unanalyzed ones (NaN) after them
+        int scored = 0;
+        while (scored < ranking.scores().length && !Float.isNaN(ranking.scores()[scored])) scored++;
+        int kept = Math.min(scored, topK);
+
+        Entry[] entries = new Entry[kept];
+        for (int i = 0; i < kept; i++) {
+            ApplicationSummary a = ranking.applicants().get(i);
+            entries[i] = new Entry(a.applicationId(), ranking.analysisIds()[i], ranking.scores()[i],
+                    millis(a.appliedAt()));
+        }
+        return new JobRanking(requirements, entries, scored > kept, System.nanoTime());
+    }
+
+    private static long millis(Instant instant) {
+        return instant == null ? Long.MAX_VALUE : instant.toEpochMilli();
+    }
+}
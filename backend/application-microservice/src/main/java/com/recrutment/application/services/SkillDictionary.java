@@ -0,0 +1,128 @@
+package com.recrutment.application.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns skill names and words to small int ids, so the ranking engine compares
+ * candidates and requirements as BitSets instead of strings.
+ *
+ * Terms are normalized first: lower case, anything but letters, digits, '+' and '#'
+ * dropped ("Spring Boot", "spring-boot" -> springboot, "Node.js" -> nodejs, "C++" stays).
+ *
+ * Only job requirements add terms (intern, wordIds). A candidate's skills and words are
+ * looked up (terms, words): a term no requirement uses can't match anything, so it maps
+ * to UNKNOWN and is dropped, and CV free text never grows the dictionary. A candidate
+ * compiled before a requirement term was added lacks that term; vocabulary() tells
+ * which terms existed at the time (see CandidateScorer.covers). Ids are never reused.
+ */
+@Component
+public class SkillDictionary {
+
+    /** Id of a term that is not in the dictionary, or that normalizes to nothing. */
+    public static final int UNKNOWN = -1;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "and", "or", "of", "in", "the", "for", "with", "de", "des", "du", "en", "et", "la", "le", "les");
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    // written after the put, so every id below it can be looked up
+    private volatile int vocabulary;
+
+    public SkillDictionary(MeterRegistry registry) {
+        Gauge.builder("ranking.dictionary.size", ids, ConcurrentHashMap::size)
+                .description("Distinct requirement terms interned for candidate ranking")
+                .register(registry);
+    }
+
+    /** Number of ids handed out so far: every id below it is known to lookups. */
+    public int vocabulary() {
+        return vocabulary;
+    }
+
+    /** Id of a requirement term ("Spring Boot"), added if new; UNKNOWN if it normalizes to nothing. */
+    public int intern(String term) {
+        String key = normalize(term);
+        return key.isEmpty() ? UNKNOWN : add(key);
+    }
+
+    /** Id of a candidate term, or UNKNOWN if no requirement uses it. */
+    public int lookup(String term) {
+        return ids.getOrDefault(normalize(term), UNKNOWN);
+    }
+
+    /** Ids of a candidate's whole terms, e.g. a skills list. */
+    public BitSet terms(Collection<String> terms) {
+        BitSet set = new BitSet();
+        if (terms == null) return set;
+        for (String term : terms) {
+            int id = lookup(term);
+            if (id != UNKNOWN) set.set(id);
+        }
+        return set;
+    }
+
+    /** Ids of the individual words of a candidate's free text (degrees, certification names). */
+    public BitSet words(String... texts) {
+        BitSet set = new BitSet();
+        for (String text : texts) {
+            for (String word : split(text)) {
+                int id = ids.getOrDefault(word, UNKNOWN);
+                if (id != UNKNOWN) set.set(id);
+            }
+        }
+        return set;
+    }
+
+    /** Ids of the words of a requirement, added if new. */
+    public int[] wordIds(String text) {
+        return split(text).stream().mapToInt(this::add).distinct().toArray();
+    }
+
+    private int add(String key) {
+        Integer id = ids.get(key);
+        return id != null ? id : addNew(key);
+    }
+
+    // rare (a requirement with a new term), so one lock keeps ids dense and vocabulary exact
+    private synchronized int addNew(String key) {
+        Integer id = ids.get(key);
+        if (id != null) return id;
+        int next = ids.size();
+        ids.put(key, next);
+        vocabulary = next + 1;
+        return next;
+    }
+
+    private static List<String> split(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> out = new ArrayList<>();
+        for (String word : text.split("[^\\p{L}\\p{N}+#]+")) {
+            String w = word.toLowerCase(Locale.ROOT);
+            if (w.length() < 2 || STOP_WORDS.contains(w)) continue;
+            out.add(w);
+        }
+        return out;
+    }
+
+    static String normalize(String term) {
+        if (term == null) return "";
+        StringBuilder sb = new StringBuilder(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            char ch = term.charAt(i);
+            if (Character.isLetterOrDigit(ch) || ch == '+' || ch == '#') {
+                sb.append(Character.toLowerCase(ch));
+            }
+        }
+        return sb.toString();
+    }
+}
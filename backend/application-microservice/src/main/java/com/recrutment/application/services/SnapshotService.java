@@ -0,0 +1,134 @@
+package com.recrutment.application.services;
+
+import com.recrutment.application.clients.JobClient;
+import com.recrutment.application.clients.UserClient;
+import com.recrutment.application.entities.CandidateNameSnapshot;
+import com.recrutment.application.entities.JobTitleSnapshot;
+import com.recrutment.application.repos.ApplicationRepo;
+import com.recrutment.application.repos.CandidateNameSnapshotRepo;
+import com.recrutment.application.repos.JobTitleSnapshotRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains the local job-title / candidate-name snapshots used by
+ * {@link ApplicationRepo#search} for SQL-side filtering.
+ *
+ * Not transactional as a whole: refreshes and the backfill call the job service and
+ * Keycloak, and must not hold a connection meanwhile. Each snapshot is written in its
+ * own short transaction, so one failed write costs only that snapshot.
+ */
+@Service
+@Slf4j
+public class SnapshotService {
+
+    private static final int BACKFILL_BATCH = 50;
+
+    private final JobTitleSnapshotRepo jobTitleSnapshotRepo;
+    private final CandidateNameSnapshotRepo candidateNameSnapshotRepo;
+    private final ApplicationRepo applicationRepo;
+    private final JobClient jobClient;
+    private final UserClient userClient;
+    // own transaction: a failed snapshot write must never roll back the caller's work
+    private final TransactionTemplate newTx;
+
+    public SnapshotService(JobTitleSnapshotRepo jobTitleSnapshotRepo,
+                           CandidateNameSnapshotRepo candidateNameSnapshotRepo,
+                           ApplicationRepo applicationRepo,
+                           JobClient jobClient,
+                           UserClient userClient,
+                           PlatformTransactionManager transactionManager) {
+        this.jobTitleSnapshotRepo = jobTitleSnapshotRepo;
+        this.candidateNameSnapshotRepo = candidateNameSnapshotRepo;
+        this.applicationRepo = applicationRepo;
+        this.jobClient = jobClient;
+        this.userClient = userClient;
+        this.newTx = new TransactionTemplate(transactionManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void recordJobTitle(UUID jobId, String title) {
+        if (jobId == null) return;
+        newTx.executeWithoutResult(tx -> jobTitleSnapshotRepo.save(JobTitleSnapshot.builder()
+                .jobId(jobId)
+                .title(title)
+                .titleLower(title == null ? null : title.toLowerCase(Locale.ROOT))
+                .updatedAt(Instant.now())
+                .build()));
+    }
+
+    public void recordCandidateName(String candidateUserId, String displayName) {
+        if (candidateUserId == null || displayName == null || displayName.isBlank()) return;
+        newTx.executeWithoutResult(tx -> candidateNameSnapshotRepo.save(CandidateNameSnapshot.builder()
+                .candidateUserId(candidateUserId)
+                .displayName(displayName)
+                .displayNameLower(displayName.toLowerCase(Locale.ROOT))
+                .updatedAt(Instant.now())
+                .build()));
+    }
+
+    // the job is gone: its applications keep their job id, but no title to search by
+    public void forgetJob(UUID jobId) {
+        if (jobId == null) return;
+        newTx.executeWithoutResult(tx -> jobTitleSnapshotRepo.deleteById(jobId));
+    }
+
+    public void refreshJob(UUID jobId) {
+        JobClient.JobDto job = jobClient.getJob(jobId);
+        if (job != null) recordJobTitle(jobId, job.getTitle());
+    }
+
+    public void refreshCandidate(String candidateUserId) {
+        UserClient.KcUser user = userClient.getInternalProfile(candidateUserId);
+        if (user != null) recordCandidateName(candidateUserId, user.getDisplayName());
+    }
+
+    /**
+     * Fill snapshots for applications created before the snapshot tables existed
+     * (or while an event was missed). Runs once in the background at startup.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissing() {
+        try {
+            List<UUID> jobIds = applicationRepo.findJobIdsWithoutSnapshot();
+            for (int i = 0; i < jobIds.size(); i += BACKFILL_BATCH) {
+                List<UUID> chunk = jobIds.subList(i, Math.min(i + BACKFILL_BATCH, jobIds.size()));
+                Map<UUID, JobClient.JobDto> jobs = jobClient.getJobs(chunk);
+                jobs.forEach((id, job) -> backfill("job " + id, () -> recordJobTitle(id, job.getTitle())));
+            }
+
+            List<String> userIds = applicationRepo.findCandidateUserIdsWithoutSnapshot();
+            for (String userId : userIds) {
+                backfill("candidate " + userId, () -> refreshCandidate(userId));
+            }
+
+            if (!jobIds.isEmpty() || !userIds.isEmpty()) {
+                log.info("Snapshot backfill done: {} jobs, {} candidates", jobIds.size(), userIds.size());
+            }
+        } catch (Exception e) {
+            log.error("Snapshot backfill failed: {}", e.getMessage());
+        }
+    }
+
+    // one snapshot that can't be written is retried on the next start, the rest go on
+    private static void backfill(String what, Runnable write) {
+        try {
+            write.run();
+        } catch (RuntimeException e) {
+            log.warn("Snapshot backfill skipped {}: {}", what, e.getMessage());
+        }
+    }
+}
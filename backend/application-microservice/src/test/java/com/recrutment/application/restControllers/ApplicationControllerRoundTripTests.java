@@ -0,0 +1,233 @@
+package com.recrutment.application.restControllers;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recrutment.application.clients.JobClient;
+import com.recrutment.application.clients.UserClient;
+import com.recrutment.application.entities.Application;
+import com.recrutment.application.entities.CandidateNameSnapshot;
+import com.recrutment.application.entities.JobTitleSnapshot;
+import com.recrutment.application.enums.ApplicationStatus;
+import com.recrutment.application.messaging.AppEventPublisher;
+import com.recrutment.application.repos.ApplicationRepo;
+import com.recrutment.application.services.ApplicationService;
+import com.recrutment.application.services.CvAnalysisService;
+import com.recrutment.application.services.CvStorageService;
+import com.recrutment.application.services.JobRankingCache;
+import com.recrutment.application.services.SnapshotService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.web.client.RestTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Round-trip budget for the ApplicationController list endpoints.
+ *
+ * Outbound HTTP is counted on the real JobClient / UserClient (RestTemplate + mock server).
+ * SQL is counted on the connections of the DataSource behind the real ApplicationRepo,
+ * an in-memory H2 in PostgreSQL mode, so every statement Hibernate actually sends is
+ * seen (a page query and its count are two). Both budgets are independent of the page
+ * size, so a per-row remote call or query, or a duplicated query pass, fails these tests.
+ */
+@SpringJUnitConfig(ApplicationControllerRoundTripTests.Config.class)
+class ApplicationControllerRoundTripTests {
+
+    private static final int ROWS = 40;
+    private static final int MAX_HTTP_PER_REQUEST = 2;   // one jobs batch + one users batch
+
+    private static final AtomicInteger STATEMENTS = new AtomicInteger();
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = ApplicationRepo.class, includeFilters =
+            @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ApplicationRepo.class))
+    static class Config {
+
+        @Bean
+        DataSource dataSource() {
+            DataSource target = new DriverManagerDataSource(
+                    "jdbc:h2:mem:round-trips;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+            return new DelegatingDataSource(target) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return counting(super.getConnection());
+                }
+            };
+        }
+
+        // every prepareStatement / createStatement / prepareCall is one statement
+        private static Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.equals("prepareStatement") || name.equals("createStatement")
+                                || name.equals("prepareCall")) {
+                            STATEMENTS.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        // only what the list queries touch: the jsonb-mapped analysis tables stay out of H2
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
+            emf.setDataSource(dataSource);
+            emf.setManagedTypes(PersistenceManagedTypes.of(
+                    Application.class.getName(),
+                    JobTitleSnapshot.class.getName(),
+                    CandidateNameSnapshot.class.getName()));
+            emf.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            emf.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+            return emf;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+
+    @Autowired
+    private ApplicationRepo repo;
+
+    private final AtomicInteger httpCalls = new AtomicInteger();
+
+    private ApplicationController controller;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            httpCalls.incrementAndGet();
+            return execution.execute(request, body);
+        });
+
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        server.expect(ExpectedCount.manyTimes(), requestTo(startsWith("http://gateway:8888/api/jobs/")))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.manyTimes(), requestTo(startsWith("http://gateway:8888/api/admin/users/")))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        JobClient jobClient = new JobClient(restTemplate, Caffeine.newBuilder().build());
+        UserClient userClient = new UserClient(restTemplate, Caffeine.newBuilder().build());
+
+        CvAnalysisService cvAnalysisService = Mockito.mock(CvAnalysisService.class);
+        CvStorageService cvStorage = Mockito.mock(CvStorageService.class);
+
+        ApplicationService service = new ApplicationService(
+                cvAnalysisService,
+                Mockito.mock(SnapshotService.class),
+                cvStorage,
+                Mockito.mock(AppEventPublisher.class),
+                repo,
+                jobClient,
+                userClient
+        );
+        controller = new ApplicationController(cvAnalysisService, service, repo, cvStorage,
+                Mockito.mock(JobRankingCache.class));
+
+        if (repo.count() == 0) {
+            List<Application> apps = new ArrayList<>();
+            for (int i = 0; i < ROWS; i++) {
+                apps.add(Application.builder()
+                        .jobId(UUID.randomUUID())
+                        .candidateUserId("candidate-" + i)
+                        .status(ApplicationStatus.APPLIED)
+                        .appliedAt(Instant.now())
+                        .cvFileName("cv.pdf")
+                        .cvContentType("application/pdf")
+                        .build());
+            }
+            repo.saveAll(apps);
+        }
+        STATEMENTS.set(0);
+    }
+
+    @Test
+    void listStaysWithinBudget() {
+        assertThat(controller.list(null, null, null, null, null)).hasSize(ROWS);
+
+        assertThat(STATEMENTS.get()).isLessThanOrEqualTo(2);
+        assertThat(httpCalls.get()).isLessThanOrEqualTo(MAX_HTTP_PER_REQUEST);
+    }
+
+    @Test
+    void listPagedStaysWithinBudget() {
+        // a page smaller than the result, so the count query runs too
+        assertThat(controller.listPaged(null, null, ApplicationStatus.APPLIED, null, null, 1, 15)
+                .getContent()).hasSize(15);
+
+        assertThat(STATEMENTS.get()).isLessThanOrEqualTo(2);
+        assertThat(httpCalls.get()).isLessThanOrEqualTo(MAX_HTTP_PER_REQUEST);
+    }
+
+    @Test
+    void listPagedWithNameFiltersStaysWithinBudget() {
+        controller.listPaged(null, UUID.randomUUID(), null, "engineer", "doe", 0, 50);
+
+        assertThat(STATEMENTS.get()).isLessThanOrEqualTo(2);
+        assertThat(httpCalls.get()).isLessThanOrEqualTo(MAX_HTTP_PER_REQUEST);
+    }
+
+    @Test
+    void myApplicationsStaysWithinBudget() {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("candidate-1").build();
+
+        assertThat(controller.myApplications(jwt)).hasSize(1);
+
+        assertThat(STATEMENTS.get()).isLessThanOrEqualTo(1);
+        assertThat(httpCalls.get()).isLessThanOrEqualTo(MAX_HTTP_PER_REQUEST);
+    }
+
+    @Test
+    void candidateIdsByJobStaysWithinBudget() {
+        UUID jobId = repo.findAll().getFirst().getJobId();
+        STATEMENTS.set(0);
+
+        assertThat(controller.getCandidateIdsByJob(jobId)).hasSize(1);
+
+        assertThat(STATEMENTS.get()).isLessThanOrEqualTo(1);
+        assertThat(httpCalls.get()).isZero();
+    }
+}
@@ -0,0 +1,51 @@
+package com.recrutment.application.clients;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recrutment.application.entities.CvAnalysis;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding cost of a cv-parser response with a large GitHub profile: generic Map decode
+ * (what the client used to do before walking the Map with casts, so a lower bound for the
+ * old path) against the typed record decode plus {@link CvParserClient#mapToCvAnalysis}.
+ *
+ * {@code java -jar target/benchmarks.jar CvParserMappingBenchmark -prof gc} for the allocation side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CvParserMappingBenchmark {
+
+    /** Number of scored repos in the profile; each one carries a year of weekly commit counts. */
+    @Param({"30", "300"})
+    public int repos;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UUID applicationId = UUID.randomUUID();
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = CvParserResponseFixture.json(repos).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Map<?, ?> mapDecode() throws IOException {
+        return objectMapper.readValue(body, Map.class);
+    }
+
+    @Benchmark
+    public CvAnalysis typedDecodeAndMap() throws IOException {
+        CvParserResponse response = objectMapper.readValue(body, CvParserResponse.class);
+        return CvParserClient.mapToCvAnalysis(response, applicationId);
+    }
+}
@@ -0,0 +1,112 @@
+package com.recrutment.application.clients;
+
+import java.util.Random;
+
+/**
+ * Builds a realistic cv-parser response body (snake_case, same shape as the Python service)
+ * with {@code repos} scored GitHub repos. Deterministic, so runs are comparable.
+ */
+final class CvParserResponseFixture {
+
+    private static final String[] LANGS = {"Java", "Python", "TypeScript", "Go", "Kotlin", "Rust", "C++"};
+    private static final String[] FRAMEWORKS = {"Spring Boot", "React", "Angular", "Django", "FastAPI", "Docker", "Kubernetes"};
+
+    private CvParserResponseFixture() {}
+
+    static String json(int repos) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(4096 + repos * 2048);
+        sb.append('{')
+                .append("\"parsing_status\":\"SUCCESS\",")
+                .append("\"candidate_name\":\"Jane Doe\",")
+                .append("\"email\":\"jane.doe@example.com\",")
+                .append("\"phone\":\"+216 20 000 000\",")
+                .append("\"location\":\"Tunis\",")
+                .append("\"summary\":\"").append("Backend engineer with a taste for distributed systems. ".repeat(8)).append("\",")
+                .append("\"desired_position\":\"Senior Backend Engineer\",")
+                .append("\"seniority_level\":\"SENIOR\",")
+                .append("\"raw_text_length\":18250,")
+                .append("\"total_years_experience\":7.5,")
+                .append("\"social_links\":{\"linkedin\":\"https://linkedin.com/in/janedoe\",\"github\":\"https://github.com/janedoe\",\"portfolio\":null},")
+                .append("\"skills\":").append(strings(FRAMEWORKS)).append(',')
+                .append("\"soft_skills\":[\"Communication\",\"Mentoring\"],")
+                .append("\"certifications\":[\"AWS SAA\"],")
+                .append("\"awards\":[],")
+                .append("\"languages\":[{\"name\":\"English\",\"level\":\"C1\"},{\"name\":\"French\",\"level\":\"C2\"}],")
+                .append("\"work_experience\":[");
+        for (int i = 0; i < 6; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"title\":\"Engineer ").append(i).append("\",\"company\":\"Company ").append(i)
+                    .append("\",\"duration\":\"2019 - 2021\",\"description\":\"").append("Built and ran services. ".repeat(10))
+                    .append("\",\"skills_used\":").append(strings(LANGS)).append('}');
+        }
+        sb.append("],")
+                .append("\"education\":[{\"degree\":\"MSc\",\"institution\":\"ENSI\",\"year\":\"2017\",\"field\":\"CS\",\"mention\":\"Bien\"}],")
+                .append("\"hackathons\":[],\"projects\":[],\"volunteer_work\":[],")
+                .append("\"github_profile\":{")
+                .append("\"username\":\"janedoe\",\"account_url\":\"https://github.com/janedoe\",\"name\":\"Jane Doe\",")
+                .append("\"public_repos_count\":").append(repos).append(",\"own_repos_count\":").append(repos)
+                .append(",\"forked_repos_count\":0,\"account_age_days\":3650,\"followers\":120,\"last_active\":\"2026-01-01\",")
+                .append("\"all_technologies\":").append(strings(LANGS)).append(',')
+                .append("\"all_repo_frameworks\":").append(strings(FRAMEWORKS)).append(',')
+                .append("\"total_stars\":900,\"real_repos_count\":").append(repos).append(",\"github_score\":\"STRONG\",")
+                .append("\"cv_skills_confirmed\":[\"Java\",\"Docker\"],\"cv_skills_likely\":[\"Kubernetes\"],\"cv_skills_no_evidence\":[],")
+                .append("\"consistent_repos\":[\"repo-0\",\"repo-1\"],\"recently_active_repos\":3,\"avg_ownership_ratio\":0.82,")
+                .append("\"collaboration\":{\"active_forks_count\":2,\"collaborated_repos\":[\"org/lib\"],\"has_collaboration\":true},")
+                .append("\"scored_repos\":[");
+        for (int i = 0; i < repos; i++) {
+            if (i > 0) sb.append(',');
+            repo(sb, i, random);
+        }
+        sb.append("]},")
+                .append("\"evaluation\":{\"missing_sections\":[],\"structure_warnings\":[\"Long summary\"],")
+                .append("\"spelling_warnings\":[],\"date_warnings\":[],\"gap_warnings\":[],")
+                .append("\"profile_strengths\":[\"Strong GitHub\"],\"profile_weaknesses\":[],\"recruiter_insights\":[\"Senior fit\"],")
+                .append("\"likely_typos_count\":0,\"experience_gap_count\":0,")
+                .append("\"incomplete_experience_entries_count\":0,\"incomplete_education_entries_count\":0,")
+                .append("\"has_email\":true,\"has_phone\":true,\"has_linkedin\":true,\"has_github\":true,\"has_portfolio\":false,")
+                .append("\"has_projects\":false,\"has_experience\":true,\"has_education\":true,\"has_skills\":true,\"has_languages\":true,")
+                .append("\"evidence_signals\":{\"technical_evidence\":\"HIGH\",\"project_evidence\":\"MEDIUM\",")
+                .append("\"leadership_evidence\":\"LOW\",\"competition_evidence\":\"N/A\",")
+                .append("\"public_portfolio_evidence\":\"LOW\",\"github_activity_evidence\":\"HIGH\"}}")
+                .append('}');
+        return sb.toString();
+    }
+
+    private static void repo(StringBuilder sb, int i, Random random) {
+        sb.append("{\"name\":\"repo-").append(i).append("\",\"description\":\"Repository number ").append(i)
+                .append("\",\"language\":\"").append(LANGS[i % LANGS.length]).append("\",")
+                .append("\"all_languages\":").append(strings(LANGS)).append(',')
+                .append("\"frameworks\":").append(strings(FRAMEWORKS)).append(',')
+                .append("\"technologies\":").append(strings(FRAMEWORKS)).append(',')
+                .append("\"stars\":").append(random.nextInt(500))
+                .append(",\"url\":\"https://github.com/janedoe/repo-").append(i).append("\",\"is_fork\":false,")
+                .append("\"size_kb\":").append(random.nextInt(50_000))
+                .append(",\"commit_count\":").append(random.nextInt(2_000))
+                .append(",\"branch_count\":").append(1 + random.nextInt(20))
+                .append(",\"days_of_activity\":").append(random.nextInt(700))
+                .append(",\"last_pushed\":\"2025-12-0").append(1 + i % 9).append("\",")
+                .append("\"topics\":[\"backend\",\"microservices\"],")
+                .append("\"score\":").append(random.nextInt(100)).append(",\"is_real\":true,")
+                .append("\"score_reasons\":[\"Has tests\",\"Has CI\",\"Has README\"],")
+                .append("\"ownership_ratio\":").append(random.nextFloat()).append(',')
+                .append("\"complexity_score\":").append(random.nextInt(11))
+                .append(",\"complexity_label\":\"MEDIUM\",\"complexity_reasons\":[\"Multiple modules\"],")
+                .append("\"commit_activity\":{\"weekly_counts\":[");
+        for (int w = 0; w < 52; w++) {
+            if (w > 0) sb.append(',');
+            sb.append(random.nextInt(30));
+        }
+        sb.append("],\"active_weeks\":40,\"recent_weeks_active\":10,\"longest_streak\":12,")
+                .append("\"is_consistent\":true,\"recently_active\":true,\"days_since_push\":5}}");
+    }
+
+    private static String strings(String[] values) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append('"').append(values[i]).append('"');
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.recrutment.application.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AppEventPublisher.publish with the broker stubbed out: what's left is the event JSON
+ * serialization. The serialized body is handed to a Blackhole so it isn't optimized away.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AppEventPublisherBenchmark {
+
+    private AppEventPublisher publisher;
+    private AppEventMessage event;
+
+    @Setup
+    public void setUp(Blackhole blackhole) throws ReflectiveOperationException {
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        publisher = new AppEventPublisher(new RabbitTemplate() {
+            @Override
+            public void convertAndSend(String exchange, String routingKey, Object message) {
+                blackhole.consume(message);
+            }
+        }, objectMapper);
+
+        Field exchange = AppEventPublisher.class.getDeclaredField("exchangeName");
+        exchange.setAccessible(true);
+        exchange.set(publisher, "app.events");
+
+        AppEventMessage.Actor actor = new AppEventMessage.Actor();
+        actor.setUserId(UUID.randomUUID().toString());
+        actor.setRoles(List.of("RECRUITER"));
+        AppEventMessage.Target target = new AppEventMessage.Target();
+        target.setType("APPLICATION");
+        target.setId(UUID.randomUUID().toString());
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("status", Map.of("old", "APPLIED", "new", "UNDER_REVIEW"));
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("jobId", UUID.randomUUID().toString());
+        payload.put("candidateUserId", UUID.randomUUID().toString());
+        payload.put("oldStatus", "APPLIED");
+        payload.put("newStatus", "UNDER_REVIEW");
+
+        event = new AppEventMessage(UUID.randomUUID(), "APPLICATION_STATUS_UPDATE", Instant.now(),
+                actor, target, "Moved to review", changes, payload, UUID.randomUUID().toString(),
+                "application-microservice");
+    }
+
+    @Benchmark
+    public void publish() {
+        publisher.publish("audit.application", event);
+    }
+}
@@ -0,0 +1,184 @@
+package com.recrutment.application.repos;
+
+import com.recrutment.application.entities.Application;
+import com.recrutment.application.entities.CandidateNameSnapshot;
+import com.recrutment.application.entities.JobTitleSnapshot;
+import com.recrutment.application.enums.ApplicationStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application list queries through the real ApplicationRepo (Spring Data JPA on
+ * Hibernate, metadata-only ApplicationSummary projections) against full rows, the
+ * shape the list endpoints read when the CV still sat in application.cv_file.
+ * byJob reads every application of one job (rows / 200 of them), page reads the
+ * first 50 APPLIED applications plus the count, like listPaged does.
+ * Run with -prof gc: gc.alloc.rate.norm is the heap each call materializes.
+ *
+ * Needs a throwaway PostgreSQL database (applications.jdbc.url / user / password, see
+ * pom.xml). Hibernate creates the tables; the application rows, each with a cvBytes
+ * legacy cv_file, are inserted server-side on the first run and reused by later ones.
+ * The seed CV is a repeated pattern, so TOAST compresses it on disk; the driver still
+ * receives and materializes the full size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ApplicationListQueryBenchmark {
+
+    private static final int JOBS = 200;
+    private static final int PAGE_SIZE = 50;
+
+    // job ids are derived from the row number so every job gets rows / JOBS applications
+    private static final String SEED = """
+            INSERT INTO application (application_id, job_id, candidate_user_id, github_url, status, applied_at,
+                                     cv_file_name, cv_content_type, cv_file)
+            SELECT gen_random_uuid(),
+                   md5('job-' || (g % ?))::uuid,
+                   'candidate-' || g,
+                   'https://github.com/candidate-' || g,
+                   (ARRAY['APPLIED','APPLIED','UNDER_REVIEW','INTERVIEW_PHASE','REJECTED'])[1 + g % 5],
+                   now() - (g || ' seconds')::interval,
+                   'cv-' || g || '.pdf',
+                   'application/pdf',
+                   convert_to(repeat('x', ?), 'UTF8')
+            FROM generate_series(?, ?) AS g
+            """;
+
+    private static final String FULL_BY_JOB = "SELECT * FROM application WHERE job_id = ?";
+
+    private static final String FULL_PAGE = """
+            SELECT * FROM application WHERE status = 'APPLIED'
+            ORDER BY applied_at DESC, application_id ASC
+            LIMIT %d
+            """.formatted(PAGE_SIZE);
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"1048576"})
+    public int cvBytes;
+
+    private AnnotationConfigApplicationContext context;
+    private ApplicationRepo repo;
+    private JdbcTemplate jdbc;
+    private UUID jobId;
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = ApplicationRepo.class, includeFilters =
+            @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ApplicationRepo.class))
+    static class Config {
+
+        // one connection, like a warm pool: connecting is not what is measured
+        @Bean
+        DataSource dataSource() {
+            return new SingleConnectionDataSource(System.getProperty("applications.jdbc.url"),
+                    System.getProperty("applications.jdbc.user", "postgres"),
+                    System.getProperty("applications.jdbc.password", "postgres"), true);
+        }
+
+        // only what the list queries touch, with the service's column names
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
+            emf.setDataSource(dataSource);
+            emf.setManagedTypes(PersistenceManagedTypes.of(
+                    Application.class.getName(),
+                    JobTitleSnapshot.class.getName(),
+                    CandidateNameSnapshot.class.getName()));
+            emf.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            emf.setJpaPropertyMap(Map.of(
+                    "hibernate.hbm2ddl.auto", "update",
+                    "hibernate.physical_naming_strategy",
+                    "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy"));
+            return emf;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        if (System.getProperty("applications.jdbc.url") == null) {
+            throw new IllegalStateException("-Dapplications.jdbc.url is required, see pom.xml");
+        }
+        context = new AnnotationConfigApplicationContext(Config.class);
+        repo = context.getBean(ApplicationRepo.class);
+        jdbc = new JdbcTemplate(context.getBean(DataSource.class));
+
+        // unmapped since the CVs moved to CvStorageService, see LegacySchemaFixes
+        jdbc.execute("ALTER TABLE application ADD COLUMN IF NOT EXISTS cv_file bytea");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_application_bench_job ON application (job_id)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_application_bench_status "
+                + "ON application (status, applied_at DESC, application_id)");
+        Long existing = jdbc.queryForObject("SELECT count(*) FROM application", Long.class);
+        long have = existing == null ? 0 : existing;
+        for (long from = have + 1; from <= rows; from += 10_000) {
+            jdbc.update(SEED, JOBS, cvBytes, from, Math.min(from + 9_999, rows));
+        }
+        jdbc.execute("ANALYZE application");
+
+        jobId = jdbc.queryForObject("SELECT job_id FROM application LIMIT 1", UUID.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ApplicationSummary> byJobSummaries() {
+        return repo.findSummaryByJobId(jobId);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> byJobFullRows() {
+        return jdbc.queryForList(FULL_BY_JOB, jobId);
+    }
+
+    @Benchmark
+    public Page<ApplicationSummary> pageSummaries() {
+        return repo.search(null, null, ApplicationStatus.APPLIED, null, null, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Object pageFullRows() {
+        List<Map<String, Object>> page = jdbc.queryForList(FULL_PAGE);
+        Long total = jdbc.queryForObject("SELECT count(*) FROM application WHERE status = 'APPLIED'", Long.class);
+        return new Object[]{page, total};
+    }
+
+    @Benchmark
+    public List<String> candidateIdsByJob() {
+        return repo.findDistinctCandidateUserIdsByJobId(jobId);
+    }
+}
@@ -0,0 +1,141 @@
+package com.recrutment.application.services;
+
+import com.recrutment.application.clients.JobClient;
+import com.recrutment.application.clients.UserClient;
+import com.recrutment.application.dto.ApplicationDto;
+import com.recrutment.application.entities.Application;
+import com.recrutment.application.enums.ApplicationStatus;
+import com.recrutment.application.repos.ApplicationSummary;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO enrichment in ApplicationService with the job / user clients stubbed out, so only
+ * the in-process cost is measured: one application (toDto) and a list page (toDtos,
+ * one bulk lookup per client).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApplicationServiceToDtoBenchmark {
+
+    @Param({"20", "200"})
+    public int pageSize;
+
+    private ApplicationService service;
+    private Application application;
+    private List<ApplicationSummary> page;
+
+    @Setup
+    public void setUp() {
+        Map<UUID, JobClient.JobDto> jobs = new HashMap<>();
+        Map<String, UserClient.KcUser> users = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            JobClient.JobDto job = new JobClient.JobDto();
+            job.setId(UUID.randomUUID());
+            job.setTitle("Backend Engineer " + i);
+            jobs.put(job.getId(), job);
+        }
+        List<UUID> jobIds = new ArrayList<>(jobs.keySet());
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            UserClient.KcUser user = new UserClient.KcUser();
+            user.setId(UUID.randomUUID().toString());
+            user.setUsername("candidate" + i);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            users.put(user.getId(), user);
+
+            page.add(new ApplicationSummary(UUID.randomUUID(), jobIds.get(i % jobIds.size()), user.getId(),
+                    "https://github.com/candidate" + i, ApplicationStatus.APPLIED, Instant.now(),
+                    "cv-" + i + ".pdf", "application/pdf"));
+        }
+
+        ApplicationSummary first = page.getFirst();
+        application = Application.builder()
+                .applicationId(first.applicationId())
+                .jobId(first.jobId())
+                .candidateUserId(first.candidateUserId())
+                .githubUrl(first.githubUrl())
+                .status(first.status())
+                .appliedAt(first.appliedAt())
+                .cvFileName(first.cvFileName())
+                .cvContentType(first.cvContentType())
+                .build();
+
+        service = new ApplicationService(null, null, null, null, null,
+                new StubJobClient(jobs), new StubUserClient(users));
+    }
+
+    @Benchmark
+    public ApplicationDto toDto() {
+        return service.toDto(application);
+    }
+
+    @Benchmark
+    public List<ApplicationDto> toDtos() {
+        return service.toDtos(page);
+    }
+
+    static final class StubJobClient extends JobClient {
+
+        private final Map<UUID, JobDto> jobs;
+
+        StubJobClient(Map<UUID, JobDto> jobs) {
+            super(null, null);
+            this.jobs = jobs;
+        }
+
+        @Override
+        public JobDto getJob(UUID id) {
+            return jobs.get(id);
+        }
+
+        @Override
+        public Map<UUID, JobDto> getJobs(Collection<UUID> ids) {
+            Map<UUID, JobDto> byId = new HashMap<>();
+            for (UUID id : ids) {
+                JobDto job = jobs.get(id);
+                if (job != null) byId.put(id, job);
+            }
+            return byId;
+        }
+    }
+
+    static final class StubUserClient extends UserClient {
+
+        private final Map<String, KcUser> users;
+
+        StubUserClient(Map<String, KcUser> users) {
+            super(null, null);
+            this.users = users;
+        }
+
+        @Override
+        public KcUser getUser(String id) {
+            return users.get(id);
+        }
+
+        @Override
+        public Map<String, KcUser> getUsers(Collection<String> ids) {
+            Map<String, KcUser> byId = new HashMap<>();
+            for (String id : ids) {
+                KcUser user = users.get(id);
+                if (user != null) byId.put(id, user);
+            }
+            return byId;
+        }
+    }
+}
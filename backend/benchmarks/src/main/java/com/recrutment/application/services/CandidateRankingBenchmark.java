@@ -0,0 +1,120 @@
+package com.recrutment.application.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recrutment.application.clients.JobClient;
+import com.recrutment.application.entities.CvAnalysis;
+import com.recrutment.application.repos.CvAnalysisMatchRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory part of ranking a job's applicants: scoring every candidate vector
+ * against the compiled requirements and sorting (rank), and turning analysis rows into
+ * vectors, which only happens on a vector cache miss (vectors).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CandidateRankingBenchmark {
+
+    private static final String[] SKILLS = {
+            "Java", "Spring Boot", "Kotlin", "Python", "Django", "React", "Angular", "TypeScript",
+            "Docker", "Kubernetes", "PostgreSQL", "MongoDB", "Kafka", "RabbitMQ", "AWS", "Azure",
+            "Go", "Rust", "C++", "C#", ".NET", "Node.js", "GraphQL", "Terraform", "Linux", "Git"};
+    private static final String[] LANGUAGES = {"English", "French", "Arabic", "German", "Spanish"};
+    private static final String[] SENIORITY = {"INTERN", "JUNIOR", "MID", "SENIOR"};
+
+    @Param({"1000", "10000"})
+    public int applicants;
+
+    private CandidateScorer scorer;
+    private CandidateScorer.Requirement[] requirements;
+    private List<CvAnalysisMatchRow> rows;
+    private CandidateScorer.CandidateVector[] vectors;
+
+    @Setup
+    public void setUp() {
+        scorer = new CandidateScorer(new SkillDictionary(new SimpleMeterRegistry()), new ObjectMapper());
+        requirements = scorer.compile(List.of(
+                requirement("SKILL", "Java", 3.0, null, null),
+                requirement("SKILL", "Spring Boot", 2.0, null, null),
+                requirement("SKILL", "PostgreSQL / MongoDB", 1.0, null, null),
+                requirement("SKILL", "Docker, Kubernetes", 1.0, null, null),
+                requirement("EXPERIENCE", null, 2.0, 3, 6),
+                requirement("EDUCATION", "Master in Computer Science", 1.0, null, null),
+                requirement("CERTIFICATION", "AWS Solutions Architect", 0.5, null, null),
+                requirement("LANGUAGE", "English", 1.0, null, null)));
+
+        Random random = new Random(42);
+        rows = new ArrayList<>(applicants);
+        for (int i = 0; i < applicants; i++) {
+            List<String> skills = pick(random, SKILLS, 4 + random.nextInt(8));
+            List<String> confirmed = skills.subList(0, random.nextInt(skills.size()));
+            rows.add(new CvAnalysisMatchRow(
+                    UUID.randomUUID(),
+                    UUID.randomUUID(),
+                    skills,
+                    random.nextInt(4) == 0 ? List.of("AWS Certified Developer") : List.of(),
+                    pick(random, LANGUAGES, 1 + random.nextInt(3)).stream()
+                            .map(name -> new CvAnalysis.LanguageEmbedded(name, "B2"))
+                            .toList(),
+                    List.of(new CvAnalysis.EducationEmbedded(
+                            random.nextBoolean() ? "Master" : "Bachelor", "University", "2020",
+                            random.nextBoolean() ? "Computer Science" : "Software Engineering", null)),
+                    random.nextInt(5) == 0 ? null : random.nextFloat() * 12,
+                    SENIORITY[random.nextInt(SENIORITY.length)],
+                    toJson(confirmed)));
+        }
+        vectors = rows.stream().map(scorer::vector).toArray(CandidateScorer.CandidateVector[]::new);
+    }
+
+    @Benchmark
+    public int[] rank() {
+        float[] scores = new float[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            scores[i] = scorer.score(requirements, vectors[i]);
+        }
+        return CandidateRankingService.order(scores);
+    }
+
+    @Benchmark
+    public CandidateScorer.CandidateVector[] vectors() {
+        return rows.stream().map(scorer::vector).toArray(CandidateScorer.CandidateVector[]::new);
+    }
+
+    private static JobClient.RequirementDto requirement(String category, String description, Double weight,
+                                                        Integer minYears, Integer maxYears) {
+        JobClient.RequirementDto r = new JobClient.RequirementDto();
+        r.setCategory(category);
+        r.setDescription(description);
+        r.setWeight(weight);
+        r.setMinYears(minYears);
+        r.setMaxYears(maxYears);
+        return r;
+    }
+
+    private static List<String> pick(Random random, String[] pool, int count) {
+        List<String> all = new ArrayList<>(List.of(pool));
+        Collections.shuffle(all, random);
+        return new ArrayList<>(all.subList(0, Math.min(count, all.size())));
+    }
+
+    private static String toJson(List<String> values) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append('"').append(values.get(i)).append('"');
+        }
+        return sb.append(']').toString();
+    }
+}
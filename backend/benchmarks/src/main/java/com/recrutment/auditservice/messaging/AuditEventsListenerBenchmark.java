@@ -0,0 +1,73 @@
+package com.recrutment.auditservice.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.recrutment.auditservice.repos.AuditLogRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Audit event intake: the bare AuditEventMessage deserialization, and the whole
+ * handleAuditEvent (deserialize, re-serialize roles / changes, build the AuditLog) with a
+ * repository whose save() only hands the entity to a Blackhole.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditEventsListenerBenchmark {
+
+    private ObjectMapper objectMapper;
+    private AuditEventsListener listener;
+    private String message;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        AuditLogRepository repository = (AuditLogRepository) Proxy.newProxyInstance(
+                AuditLogRepository.class.getClassLoader(), new Class<?>[]{AuditLogRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> {
+                        blackhole.consume(args[0]);
+                        yield args[0];
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "AuditLogRepository stub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        listener = new AuditEventsListener(repository, objectMapper);
+
+        message = """
+                {"eventId":"%s","eventType":"JOB_UPDATED","occurredAt":"2026-03-01T10:15:30Z",
+                 "producer":"job-microservice",
+                 "actor":{"userId":"%s","roles":["RECRUITER","ADMIN"]},
+                 "target":{"type":"JOB_OFFER","id":"%s"},
+                 "reason":"Salary range revised",
+                 "changes":{"title":{"old":"Backend Engineer","new":"Senior Backend Engineer"},
+                            "minSalary":{"old":2500,"new":3000},
+                            "maxSalary":{"old":3500,"new":4200},
+                            "location":{"old":"Tunis","new":"Remote"}},
+                 "payload":{"jobTitle":"Senior Backend Engineer","refNumber":"JOB-2026-0042"},
+                 "correlationId":"%s"}
+                """.formatted(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    @Benchmark
+    public AuditEventMessage deserialize() throws IOException {
+        return objectMapper.readValue(message, AuditEventMessage.class);
+    }
+
+    @Benchmark
+    public void handleAuditEvent() {
+        listener.handleAuditEvent(message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.recrutment.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Entry point of target/benchmarks.jar. Takes the usual JMH command line, but unless
+ * -rf / -rff are given the results go to target/jmh-results/jmh-&lt;timestamp&gt;.json,
+ * so each run leaves a file that can be diffed against the previous release's one
+ * (e.g. with jmh.morethan.io).
+ */
+public final class BenchmarkRunner {
+
+    private static final String RESULT_DIR = System.getProperty("benchmarks.result-dir", "target/jmh-results");
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListWithParams() || cli.shouldListProfilers()
+                || cli.shouldListResultFormats()) {
+            // listing / help: let JMH's own main handle it
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ResultFormatType format = cli.getResultFormat().orElse(ResultFormatType.JSON);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli).resultFormat(format);
+        if (!cli.getResult().hasValue()) {
+            Path dir = Path.of(RESULT_DIR);
+            Files.createDirectories(dir);
+            String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            options.result(dir.resolve("jmh-" + stamp + "." + format.name().toLowerCase()).toString());
+        }
+
+        // need their own database (see pom.xml): skipped unless one is configured
+        if (System.getProperty("jobs.jdbc.url") == null) {
+            options.exclude("JobSearchBenchmark");
+        }
+        if (System.getProperty("applications.jdbc.url") == null) {
+            options.exclude("ApplicationListQueryBenchmark");
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,47 @@
+package com.recrutment.notificationmicroservice.services;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Body of the JOB_UPDATED notification, built once per event and sent to every candidate
+ * of the job: a typical edit (two known fields) and a wide one that also hits the
+ * default field-name formatting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationServiceBenchmark {
+
+    private Map<String, Object> fewChanges;
+    private Map<String, Object> manyChanges;
+
+    @Setup
+    public void setUp() {
+        fewChanges = new LinkedHashMap<>();
+        fewChanges.put("minSalary", Map.of("old", 2500, "new", 3000));
+        fewChanges.put("maxSalary", Map.of("old", 3500, "new", 4200));
+
+        manyChanges = new LinkedHashMap<>();
+        for (String field : new String[]{"title", "description", "location", "minSalary", "maxSalary",
+                "employmentType", "jobStatus", "deadline", "requirements", "benefits"}) {
+            manyChanges.put(field, Map.of("old", "a", "new", "b"));
+        }
+    }
+
+    @Benchmark
+    public String fewChanges() {
+        return NotificationService.buildJobUpdatedBody("Senior Backend Engineer", fewChanges);
+    }
+
+    @Benchmark
+    public String manyChanges() {
+        return NotificationService.buildJobUpdatedBody("Senior Backend Engineer", manyChanges);
+    }
+}
@@ -0,0 +1,172 @@
+package com.zaina.jobmicroservice.repos;
+
+import com.zaina.jobmicroservice.config.JobSearchIndexSetup;
+import com.zaina.jobmicroservice.domain.enums.EmploymentType;
+import com.zaina.jobmicroservice.domain.enums.JobStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Job search on a seeded job_offer table (1M rows by default): the full-text path
+ * (JobOfferSearchRepoImpl, GIN index on search_vector) against the LIKE query that
+ * searchAndFilter runs, written here as the SQL Hibernate generates for it.
+ * Both fetch one page of 10 plus the total count, like the endpoint does.
+ * offsetDeepPage / keysetDeepPage read the title-ordered listing 10,000 rows in, with
+ * OFFSET and with a (coalesce(title, ''), id) seek (keysetSearch, ?cursor=).
+ *
+ * Needs a throwaway PostgreSQL database (jobs.jdbc.url / user / password, see
+ * pom.xml). The table is created and topped up to the row count on the first run,
+ * which takes a minute or two for 1M rows; later runs reuse it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JobSearchBenchmark {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS job_offer (
+                id uuid PRIMARY KEY,
+                ref_number varchar(20) UNIQUE,
+                title varchar(255),
+                description varchar(255),
+                location varchar(255),
+                min_salary integer,
+                max_salary integer,
+                employment_type varchar(255),
+                job_status varchar(255)
+            )
+            """;
+
+    // random titles / locations / descriptions from small vocabularies, so that both
+    // common and rare words exist
+    private static final String SEED = """
+            INSERT INTO job_offer (id, ref_number, title, description, location, min_salary, max_salary,
+                                   employment_type, job_status)
+            SELECT gen_random_uuid(),
+                   'BENCH-' || g,
+                   (ARRAY['Java','Python','Frontend','Backend','Data','DevOps','Mobile','QA','Cloud','Security',
+                          'Kotlin','Golang','Rust','Salesforce','SAP'])[1 + floor(random() * 15)::int]
+                       || ' ' ||
+                   (ARRAY['Developer','Engineer','Analyst','Architect','Intern','Lead','Consultant'])[1 + floor(random() * 7)::int],
+                   'Experience with ' ||
+                   (ARRAY['Spring Boot','Django','React','Angular','Kubernetes','Terraform','PostgreSQL','Kafka',
+                          'Spark','Airflow','Flutter','Swift','Selenium','AWS','Azure'])[1 + floor(random() * 15)::int]
+                       || ' and ' ||
+                   (ARRAY['Docker','Git','Linux','REST APIs','GraphQL','CI/CD','microservices','agile teams',
+                          'machine learning','observability'])[1 + floor(random() * 10)::int]
+                       || '. ' ||
+                   (ARRAY['Join a fast growing startup.','Remote friendly team.','International clients.',
+                          'Mentoring and training budget.','Hybrid work, two days on site.'])[1 + floor(random() * 5)::int],
+                   (ARRAY['Tunis','Sfax','Sousse','Remote','Paris','Lyon','Berlin','London','Montreal','Casablanca'])[1 + floor(random() * 10)::int],
+                   1000 + floor(random() * 3000)::int,
+                   4000 + floor(random() * 4000)::int,
+                   (ARRAY['FULL_TIME','PART_TIME','CONTRACT','INTERNSHIP'])[1 + floor(random() * 4)::int],
+                   (ARRAY['DRAFT','PUBLISHED','PUBLISHED','PUBLISHED','CLOSED'])[1 + floor(random() * 5)::int]
+            FROM generate_series(?, ?) AS g
+            """;
+
+    private static final String LIKE_PAGE = """
+            SELECT j.id, j.title, j.description, j.location, j.min_salary, j.max_salary, j.employment_type, j.job_status
+            FROM job_offer j
+            WHERE lower(coalesce(j.title, '')) LIKE :pattern
+               OR lower(coalesce(j.location, '')) LIKE :pattern
+               OR lower(coalesce(j.description, '')) LIKE :pattern
+            ORDER BY coalesce(j.title, '') ASC, j.id ASC
+            LIMIT 10 OFFSET 0
+            """;
+
+    private static final String LIKE_COUNT = """
+            SELECT count(*) FROM job_offer j
+            WHERE lower(coalesce(j.title, '')) LIKE :pattern
+               OR lower(coalesce(j.location, '')) LIKE :pattern
+               OR lower(coalesce(j.description, '')) LIKE :pattern
+            """;
+
+    private static final int DEEP_OFFSET = 10_000;
+
+    private static final String OFFSET_DEEP_PAGE = """
+            SELECT j.id FROM job_offer j
+            ORDER BY coalesce(j.title, '') ASC, j.id ASC
+            LIMIT 10 OFFSET %d
+            """.formatted(DEEP_OFFSET);
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"kafka", "java developer", "dev"})
+    public String query;
+
+    private NamedParameterJdbcTemplate named;
+    private JobOfferSearchRepoImpl repo;
+    private JobOfferCursor deepCursor;
+
+    @Setup
+    public void setUp() {
+        String url = System.getProperty("jobs.jdbc.url");
+        if (url == null) throw new IllegalStateException("-Djobs.jdbc.url is required, see pom.xml");
+        // one connection, like a warm pool: connecting is not what is measured
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(url,
+                System.getProperty("jobs.jdbc.user", "postgres"),
+                System.getProperty("jobs.jdbc.password", "postgres"), true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        named = new NamedParameterJdbcTemplate(jdbc);
+
+        jdbc.execute(CREATE_TABLE);
+        Long existing = jdbc.queryForObject("SELECT count(*) FROM job_offer", Long.class);
+        long have = existing == null ? 0 : existing;
+        for (long from = have + 1; from <= rows; from += 100_000) {
+            jdbc.update(SEED, from, Math.min(from + 99_999, rows));
+        }
+        JobSearchIndexSetup.DDL.forEach(jdbc::execute);
+        jdbc.execute(JobSearchIndexSetup.SORT_KEY_INDEX);
+        jdbc.execute("ANALYZE job_offer");
+
+        repo = new JobOfferSearchRepoImpl(named);
+        deepCursor = jdbc.queryForObject(
+                "SELECT title, id FROM job_offer ORDER BY coalesce(title, ''), id LIMIT 1 OFFSET " + (DEEP_OFFSET - 1),
+                (rs, i) -> new JobOfferCursor(JobOfferCursor.Source.DATABASE, rs.getString("title"),
+                        rs.getObject("id", UUID.class)));
+    }
+
+    @Benchmark
+    public Page<JobSearchHit> fullText() {
+        return repo.fullTextSearch(query, null, null, null, null, PageRequest.of(0, 10));
+    }
+
+    @Benchmark
+    public Page<JobSearchHit> fullTextFiltered() {
+        return repo.fullTextSearch(query, EmploymentType.FULL_TIME, JobStatus.PUBLISHED, null, null,
+                PageRequest.of(0, 10));
+    }
+
+    @Benchmark
+    public Object likeScan() {
+        MapSqlParameterSource params = new MapSqlParameterSource("pattern", "%" + query.toLowerCase() + "%");
+        List<Map<String, Object>> page = named.queryForList(LIKE_PAGE, params);
+        Long total = named.queryForObject(LIKE_COUNT, params, Long.class);
+        return new Object[]{page, total};
+    }
+
+    @Benchmark
+    public List<UUID> offsetDeepPage() {
+        return named.getJdbcTemplate().queryForList(OFFSET_DEEP_PAGE, UUID.class);
+    }
+
+    @Benchmark
+    public List<UUID> keysetDeepPage() {
+        return repo.keysetSearch(null, false, null, null, null, null, deepCursor, 10);
+    }
+}
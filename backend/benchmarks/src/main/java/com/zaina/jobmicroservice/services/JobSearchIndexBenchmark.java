@@ -0,0 +1,128 @@
+package com.zaina.jobmicroservice.services;
+
+import com.zaina.jobmicroservice.domain.enums.EmploymentType;
+import com.zaina.jobmicroservice.domain.enums.JobStatus;
+import com.zaina.jobmicroservice.domain.enums.RequirementCategory;
+import com.zaina.jobmicroservice.dto.JobOfferDto;
+import com.zaina.jobmicroservice.dto.JobRequirementDto;
+import com.zaina.jobmicroservice.dto.PageResponse;
+import com.zaina.jobmicroservice.repos.JobOfferCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The public job board search served by the in-memory index (JobSearchIndex): one page
+ * of 10 plus the total, like the endpoint. Jobs are generated from the vocabularies
+ * JobSearchBenchmark seeds the database with, so the p99 here compares directly with
+ * JobSearchBenchmark.likeScan / fullText for the same queries.
+ *
+ * searchDeepPage / searchAfterDeep read page 51, by offset and with the cursor the
+ * endpoint would have handed out for it. update measures an edit arriving through
+ * JOB_UPDATED (re-indexing one job).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JobSearchIndexBenchmark {
+
+    private static final String[] TITLE_TECH = {"Java", "Python", "Frontend", "Backend", "Data", "DevOps",
+            "Mobile", "QA", "Cloud", "Security", "Kotlin", "Golang", "Rust", "Salesforce", "SAP"};
+    private static final String[] TITLE_ROLE = {"Developer", "Engineer", "Analyst", "Architect", "Intern",
+            "Lead", "Consultant"};
+    private static final String[] TOOLS = {"Spring Boot", "Django", "React", "Angular", "Kubernetes",
+            "Terraform", "PostgreSQL", "Kafka", "Spark", "Airflow", "Flutter", "Swift", "Selenium", "AWS", "Azure"};
+    private static final String[] PRACTICES = {"Docker", "Git", "Linux", "REST APIs", "GraphQL", "CI/CD",
+            "microservices", "agile teams", "machine learning", "observability"};
+    private static final String[] PERKS = {"Join a fast growing startup.", "Remote friendly team.",
+            "International clients.", "Mentoring and training budget.", "Hybrid work, two days on site."};
+    private static final String[] LOCATIONS = {"Tunis", "Sfax", "Sousse", "Remote", "Paris", "Lyon", "Berlin",
+            "London", "Montreal", "Casablanca"};
+
+    @Param({"100000", "1000000"})
+    public int jobs;
+
+    @Param({"kafka", "java developer", "dev"})
+    public String query;
+
+    private JobSearchIndex index;
+    private List<JobOfferDto> published;
+    private Random random;
+    private JobOfferCursor deepCursor;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        published = new ArrayList<>(jobs);
+        for (int i = 0; i < jobs; i++) published.add(job(random));
+
+        // only load() / put() / search() are exercised: no repository or transactions
+        index = new JobSearchIndex(null, null, new SimpleMeterRegistry());
+        index.load(published);
+
+        List<JobOfferDto> page50 = index.search(query, null, null, null, 49, 10).orElseThrow().getContent();
+        JobOfferDto last = page50.isEmpty() ? published.get(0) : page50.get(page50.size() - 1);
+        deepCursor = new JobOfferCursor(JobOfferCursor.Source.INDEX, last.getTitle(), last.getId());
+    }
+
+    @Benchmark
+    public Optional<PageResponse<JobOfferDto>> search() {
+        return index.search(query, null, null, null, 0, 10);
+    }
+
+    @Benchmark
+    public Optional<PageResponse<JobOfferDto>> searchFiltered() {
+        return index.search(query, EmploymentType.FULL_TIME, 2000, null, 0, 10);
+    }
+
+    @Benchmark
+    public Optional<PageResponse<JobOfferDto>> searchDeepPage() {
+        return index.search(query, null, null, null, 50, 10);
+    }
+
+    @Benchmark
+    public Optional<PageResponse<JobOfferDto>> searchAfterDeep() {
+        return index.searchAfter(query, null, null, null, deepCursor, 10);
+    }
+
+    @Benchmark
+    public void update() {
+        JobOfferDto edited = job(random);
+        edited.setId(published.get(random.nextInt(published.size())).getId());
+        index.put(edited);
+    }
+
+    private static JobOfferDto job(Random random) {
+        String tool = pick(random, TOOLS);
+        int minSalary = 1000 + random.nextInt(3000);
+        return new JobOfferDto(
+                UUID.randomUUID(),
+                null,
+                pick(random, TITLE_TECH) + " " + pick(random, TITLE_ROLE),
+                "Experience with " + tool + " and " + pick(random, PRACTICES) + ". " + pick(random, PERKS),
+                pick(random, LOCATIONS),
+                minSalary,
+                4000 + random.nextInt(4000),
+                EmploymentType.values()[random.nextInt(EmploymentType.values().length)],
+                JobStatus.PUBLISHED,
+                List.of(
+                        new JobRequirementDto(UUID.randomUUID(), RequirementCategory.SKILL, tool, 3.0, null, null),
+                        new JobRequirementDto(UUID.randomUUID(), RequirementCategory.EXPERIENCE, null, 2.0,
+                                random.nextInt(4), null)),
+                null,
+                null);
+    }
+
+    private static String pick(Random random, String[] pool) {
+        return pool[random.nextInt(pool.length)];
+    }
+}
@@ -33,6 +33,13 @@ public class AdminUsersController {
         return service.listUsers(first, max, search);
     }
 
+    // several profiles in one round-trip (application-microservice list enrichment)
+    @GetMapping("/users/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<List<KcUser>> getUserProfiles(@RequestParam List<String> ids) {
+        return service.getProfiles(ids);
+    }
+
     @GetMapping("/users/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public Mono<KcUser> getUserProfile(@PathVariable String id) {
@@ -17,6 +17,7 @@ public class AdminUsersService {
     private final AppEventPublisher eventPublisher;
     private final KeycloakAdminClient kc;
     private static final Set<String> ALLOWED = Set.of("CANDIDATE", "RECRUITER", "ADMIN");
+    private static final int BATCH_CONCURRENCY = 8;
 
     public AdminUsersService(KeycloakAdminClient kc,AppEventPublisher eventPublisher) {
         this.kc = kc;
@@ -42,6 +43,19 @@ public class AdminUsersService {
                 .map(tuple -> copyWithRoles(tuple.getT1(), tuple.getT2()));
     }
 
+    /**
+     * Keycloak has no bulk lookup by id, so fan out with a small concurrency cap.
+     * Unknown or failing ids are skipped instead of failing the whole batch.
+     */
+    public Mono<List<KcUser>> getProfiles(Collection<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return Flux.fromIterable(new LinkedHashSet<>(userIds))
+                .flatMapSequential(id -> getProfile(id).onErrorResume(e -> Mono.empty()), BATCH_CONCURRENCY)
+                .collectList();
+    }
+
     public Mono<List<String>> getAllowedRoles(String userId) {
         return kc.getUserRealmRoles(userId)
                 .map(roles -> roles.stream()
@@ -73,6 +73,12 @@ public class SecurityConfig {
 
                         .pathMatchers(HttpMethod.GET, "/api/applications/internal/job/*/candidate-ids").permitAll()
 
+                        // Applications - admin maintenance (before the candidate POST rule)
+                        .pathMatchers("/api/applications/admin/**").hasRole("ADMIN")
+
+                        // Applications - recruiter batch lookup, a POST that isn't a candidate action
+                        .pathMatchers(HttpMethod.POST, "/api/applications/analysis/batch").hasAnyRole("RECRUITER", "ADMIN")
+
                         // Applications - candidate "me" endpoints (IMPORTANT: must be before /api/applications/**)
                         .pathMatchers(HttpMethod.POST, "/api/applications/**").hasRole("CANDIDATE")
                         .pathMatchers(HttpMethod.GET, "/api/applications/me").hasRole("CANDIDATE")
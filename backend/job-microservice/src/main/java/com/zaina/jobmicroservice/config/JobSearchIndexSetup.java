@@ -0,0 +1,73 @@
+package com.zaina.jobmicroservice.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Full-text search column and index for job_offer (see JobOfferSearchRepo).
+ * ddl-auto=update doesn't know about either, so they are created here. search_vector
+ * is a generated column: Postgres keeps it in sync on every insert / update, nothing
+ * to maintain in Java. Weights make a title hit rank above a location hit, above a
+ * description hit. The 'simple' configuration (no stemming) is used because offers
+ * are written in both French and English; prefix matching covers most inflections.
+ *
+ * Statements are idempotent; failures are logged, not fatal, and search then stays on
+ * the LIKE query (isReady). Adding the column rewrites the table once.
+ *
+ * The keyset listing (keysetSearch) seeks on coalesce(title, ''), id: an expression
+ * index JPA can't declare, created here too. Without it paging still works, it just scans.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobSearchIndexSetup implements ApplicationRunner {
+
+    public static final List<String> DDL = List.of(
+            """
+            ALTER TABLE job_offer ADD COLUMN IF NOT EXISTS search_vector tsvector
+                GENERATED ALWAYS AS (
+                    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+                    setweight(to_tsvector('simple', coalesce(location, '')), 'B') ||
+                    setweight(to_tsvector('simple', coalesce(description, '')), 'C')
+                ) STORED
+            """,
+            "CREATE INDEX IF NOT EXISTS idx_job_offer_search_vector ON job_offer USING GIN (search_vector)");
+
+    public static final String SORT_KEY_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_job_offer_sort_key ON job_offer ((coalesce(title, '')), id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean ready;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean ok = true;
+        for (String sql : DDL) {
+            try {
+                jdbcTemplate.execute(sql);
+            } catch (Exception e) {
+                ok = false;
+                log.warn("Search index setup skipped ({}): {}", sql, e.getMessage());
+            }
+        }
+        ready = ok;
+
+        try {
+            jdbcTemplate.execute(SORT_KEY_INDEX);
+        } catch (Exception e) {
+            log.warn("Search index setup skipped ({}): {}", SORT_KEY_INDEX, e.getMessage());
+        }
+    }
+
+    /** Column and index are in place (false until startup has run the DDL). */
+    public boolean isReady() {
+        return ready;
+    }
+}
@@ -0,0 +1,35 @@
+package com.zaina.jobmicroservice.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitConfig {
+
+    @Value("${app.messaging.exchange}")
+    private String exchangeName;
+
+    @Bean
+    public TopicExchange appEventsExchange() {
+        return new TopicExchange(exchangeName, true, false);
+    }
+
+    // one auto-delete queue per instance: every replica keeps its own search index
+    // (JobSearchIndex) and must see every job change
+    @Bean
+    public Queue jobIndexQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding jobIndexBinding(Queue jobIndexQueue, TopicExchange appEventsExchange) {
+        // JOB_CREATED / JOB_UPDATED / JOB_DELETED
+        return BindingBuilder.bind(jobIndexQueue).to(appEventsExchange).with("audit.job");
+    }
+}
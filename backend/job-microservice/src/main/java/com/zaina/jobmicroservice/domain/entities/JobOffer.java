@@ -8,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.util.ArrayList;
@@ -19,6 +20,8 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Entity
+// the title-ordered listing sorts on coalesce(title, ''), id: that expression index is
+// created by JobSearchIndexSetup, JPA can't declare it
 public class JobOffer {
 
     @Id
@@ -42,7 +45,11 @@ public class JobOffer {
     @Enumerated(EnumType.STRING)
     private JobStatus jobStatus;
 
+    // lists and search pages map every job with its requirements: the first access loads
+    // them for up to 100 jobs of the page in one query instead of one query per job
+    // (a fetch join would break the pagination of paged queries)
     @OneToMany(mappedBy = "jobOffer", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @Builder.Default
     @JsonManagedReference
     private List<JobRequirement> requirements = new ArrayList<>();
@@ -1,5 +1,6 @@
 package com.zaina.jobmicroservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.zaina.jobmicroservice.domain.enums.EmploymentType;
 import com.zaina.jobmicroservice.domain.enums.JobStatus;
 import lombok.AllArgsConstructor;
@@ -7,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Data
@@ -23,4 +25,10 @@ public class JobOfferDto {
     private EmploymentType employmentType;
     private JobStatus jobStatus;
     private List<JobRequirementDto> requirements;
+
+    // full-text search results only: relevance in [0, 1) and <mark>-highlighted title / description
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double relevance;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, String> highlights;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.zaina.jobmicroservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,8 +16,13 @@ public class PageResponse<T> {
     private List<T> content;
     private int page;
     private int size;
+    // -1 when not counted: database cursor pages after the first (see searchJobsAfter)
     private long totalElements;
     private int totalPages;
     private boolean hasNext;
     private boolean hasPrevious;
+
+    // title-ordered results only: pass it back as ?cursor= for the next page (see JobOfferCursor)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 }
\ No newline at end of file
@@ -8,6 +8,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Component
 @RequiredArgsConstructor
@@ -20,7 +22,24 @@ public class AppEventPublisher {
     @Value("${app.messaging.exchange}")
     private String exchangeName;
 
+    /**
+     * Inside a transaction the event goes out once it commits: consumers that read the
+     * job back (e.g. the search index) must see the new state, and a rollback sends nothing.
+     */
     public void publish(String routingKey, AppEventMessage event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(routingKey, event);
+                }
+            });
+        } else {
+            send(routingKey, event);
+        }
+    }
+
+    private void send(String routingKey, AppEventMessage event) {
         try {
             if (event.getEventId() == null) {
                 event.setEventId(java.util.UUID.randomUUID());
@@ -28,11 +47,14 @@ public class AppEventPublisher {
             if (event.getOccurredAt() == null) {
                 event.setOccurredAt(java.time.Instant.now());
             }
-            System.out.println("SENDING TO EXCHANGE = " + exchangeName + " WITH KEY = " + routingKey);
+            log.debug("Sending {} to exchange {} with key {}", event.getEventType(), exchangeName, routingKey);
             String json = objectMapper.writeValueAsString(event);
             rabbitTemplate.convertAndSend(exchangeName, routingKey, json);
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize event {}", event, e);
+        } catch (Exception e) {
+            // after commit there is nothing to roll back: log it, the job itself is saved
+            log.error("Failed to publish {} for {}: {}", event.getEventType(), event.getTarget(), e.getMessage());
         }
     }
 }
\ No newline at end of file
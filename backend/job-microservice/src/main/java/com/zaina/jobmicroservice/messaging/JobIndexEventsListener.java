@@ -0,0 +1,52 @@
+package com.zaina.jobmicroservice.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaina.jobmicroservice.services.JobSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Keeps this instance's in-memory search index in step with the job table. Events are
+ * only hints: the job is read back from the database, so duplicates or a missed
+ * intermediate version do no harm.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobIndexEventsListener {
+
+    private final JobSearchIndex jobSearchIndex;
+    private final ObjectMapper objectMapper;
+
+    @RabbitListener(queues = "#{jobIndexQueue.name}")
+    public void handleJobEvent(String json) {
+        AppEventMessage evt;
+        try {
+            evt = objectMapper.readValue(json, AppEventMessage.class);
+        } catch (Exception e) {
+            log.warn("Invalid JSON in job event, discarding: {}", e.getMessage());
+            return;
+        }
+
+        if (evt.getEventType() == null || evt.getTarget() == null || evt.getTarget().getId() == null) {
+            return;
+        }
+        UUID jobId;
+        try {
+            jobId = UUID.fromString(evt.getTarget().getId());
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring {} with non-UUID target {}", evt.getEventType(), evt.getTarget().getId());
+            return;
+        }
+
+        switch (evt.getEventType()) {
+            case "JOB_CREATED", "JOB_UPDATED" -> jobSearchIndex.refresh(jobId);
+            case "JOB_DELETED" -> jobSearchIndex.remove(jobId);
+            default -> { /* ignore */ }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.zaina.jobmicroservice.repos;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the title-ordered job listing (ORDER BY coalesce(title, ''), id): the last row of the
+ * previous page. Clients get it as an opaque string (nextCursor) and send it back;
+ * the next page is then a seek past that row instead of an OFFSET scan.
+ *
+ * Full-text results are ordered by relevance first (ORDER BY relevance DESC,
+ * coalesce(title, ''), id), so their cursors (RANKED) also carry the row's relevance.
+ *
+ * The database and the in-memory index (JobSearchIndex) do not order titles the same way
+ * (collation vs Java), and the index also matches requirement texts, so a cursor only
+ * continues the path that issued it: the source travels with it and the other path
+ * rejects it.
+ *
+ * @param title     null for jobs without a title, which sort like an empty one (first)
+ * @param relevance ts_rank_cd of the row, RANKED cursors only (null otherwise)
+ */
+public record JobOfferCursor(Source source, String title, UUID id, Float relevance) {
+
+    public enum Source { DATABASE, INDEX, RANKED }
+
+    public JobOfferCursor(Source source, String title, UUID id) {
+        this(source, title, id, null);
+    }
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * "&lt;d|i&gt;&lt;id&gt;:&lt;title&gt;", or "r&lt;relevance&gt;;&lt;id&gt;:&lt;title&gt;" (no ":title"
+     * when there is no title), base64url.
+     */
+    public String encode() {
+        String tag = switch (source) {
+            case DATABASE -> "d";
+            case INDEX -> "i";
+            case RANKED -> "r" + relevance + ";";
+        };
+        String raw = tag + (title == null ? id.toString() : id + ":" + title);
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException if cursor wasn't produced by {@link #encode()} */
+    public static JobOfferCursor decode(String cursor) {
+        String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+        if (raw.isEmpty()) throw new IllegalArgumentException("Empty cursor");
+        Source source = switch (raw.charAt(0)) {
+            case 'd' -> Source.DATABASE;
+            case 'i' -> Source.INDEX;
+            case 'r' -> Source.RANKED;
+            default -> throw new IllegalArgumentException("Unknown cursor source");
+        };
+        raw = raw.substring(1);
+        Float relevance = null;
+        if (source == Source.RANKED) {
+            int end = raw.indexOf(';');
+            if (end < 0) throw new IllegalArgumentException("Ranked cursor without relevance");
+            relevance = Float.parseFloat(raw.substring(0, end));   // NumberFormatException is an IAE
+            raw = raw.substring(end + 1);
+        }
+        int sep = raw.indexOf(':');
+        UUID id = UUID.fromString(sep < 0 ? raw : raw.substring(0, sep));
+        return new JobOfferCursor(source, sep < 0 ? null : raw.substring(sep + 1), id, relevance);
+    }
+}
@@ -3,19 +3,29 @@ package com.zaina.jobmicroservice.repos;
 import com.zaina.jobmicroservice.domain.entities.JobOffer;
 import com.zaina.jobmicroservice.domain.enums.EmploymentType;
 import com.zaina.jobmicroservice.domain.enums.JobStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface JobOfferRepo extends JpaRepository<JobOffer, UUID> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface JobOfferRepo extends JpaRepository<JobOffer, UUID>, JobOfferSearchRepo {
 
     /**
      * Search and filter jobs with pagination
      * Searches in title, location, and description
+     * (substring match, a sequential scan: the fallback when full-text search is off or
+     * unavailable, and the path for filter-only searches; see JobOfferSearchRepo)
      *
      * @param query Search query (searches title, location, description)
      * @param employmentType Filter by employment type
@@ -37,7 +47,7 @@ public interface JobOfferRepo extends JpaRepository<JobOffer, UUID> {
         AND (:jobStatus IS NULL OR j.jobStatus = :jobStatus)
         AND (:minSalary IS NULL OR j.minSalary >= :minSalary)
         AND (:maxSalary IS NULL OR j.maxSalary <= :maxSalary)
-        ORDER BY j.title ASC, j.id ASC
+        ORDER BY COALESCE(j.title, '') ASC, j.id ASC
         """)
     Page<JobOffer> searchAndFilter(
             @Param("query") String query,
@@ -48,7 +58,23 @@ public interface JobOfferRepo extends JpaRepository<JobOffer, UUID> {
             Pageable pageable
     );
 
-    @Query("SELECT COALESCE(MAX(CAST(SUBSTRING(j.refNumber, 5) AS int)), 0) + 1 " +
-            "FROM JobOffer j WHERE j.refNumber IS NOT NULL")
-    int nextRefSequence();
+    /**
+     * Every job in a status with its requirements, streamed with a server-side cursor
+     * (the in-memory search index is built from this). Ordered by id so that the rows of
+     * one job arrive together. Needs a transaction; detach the rows once read so the
+     * persistence context does not grow with the table.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT j FROM JobOffer j LEFT JOIN FETCH j.requirements WHERE j.jobStatus = :jobStatus ORDER BY j.id")
+    Stream<JobOffer> streamWithRequirementsByJobStatus(@Param("jobStatus") JobStatus jobStatus);
+
+    // keyset page of every job id (GET /api/jobs walks the table with it)
+    @Query("SELECT j.id FROM JobOffer j WHERE j.id > :after ORDER BY j.id")
+    List<UUID> findIdsAfter(@Param("after") UUID after, Pageable page);
+
+    @Query("SELECT j FROM JobOffer j LEFT JOIN FETCH j.requirements WHERE j.id = :id")
+    Optional<JobOffer> findWithRequirementsById(@Param("id") UUID id);
 }
\ No newline at end of file
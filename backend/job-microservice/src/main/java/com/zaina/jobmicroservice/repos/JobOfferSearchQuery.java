@@ -0,0 +1,34 @@
+package com.zaina.jobmicroservice.repos;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Turns user input into a to_tsquery expression. Only letters and digits survive, so
+ * the input can never be a tsquery syntax error: "Java/Spring dev!" -> java:* & spring:* & dev:*
+ */
+public final class JobOfferSearchQuery {
+
+    private JobOfferSearchQuery() {}
+
+    public static boolean hasTerms(String query) {
+        return !toTsQuery(query).isEmpty();
+    }
+
+    public static String toTsQuery(String query) {
+        return words(query).stream()
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    /** The distinct lowercase words of text; also how the in-memory index (JobSearchIndex) tokenizes. */
+    public static List<String> words(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
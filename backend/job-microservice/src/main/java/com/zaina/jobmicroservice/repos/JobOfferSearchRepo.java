@@ -0,0 +1,73 @@
+package com.zaina.jobmicroservice.repos;
+
+import com.zaina.jobmicroservice.domain.enums.EmploymentType;
+import com.zaina.jobmicroservice.domain.enums.JobStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface JobOfferSearchRepo {
+
+    /**
+     * Full-text search over title, location and description (search_vector, see
+     * JobSearchIndexSetup), best match first, then by coalesce(title, ''), id. Every word
+     * of the query must match, as a prefix: "java dev" finds "Java Developer".
+     *
+     * @param query free text; callers check {@link JobOfferSearchQuery#hasTerms} first
+     */
+    Page<JobSearchHit> fullTextSearch(
+            String query,
+            EmploymentType employmentType,
+            JobStatus jobStatus,
+            Integer minSalary,
+            Integer maxSalary,
+            Pageable pageable
+    );
+
+    /**
+     * The full-text page right after a RANKED cursor's row, in the same order as
+     * fullTextSearch (relevance DESC, coalesce(title, ''), id): a seek instead of an
+     * OFFSET, and no count.
+     */
+    List<JobSearchHit> fullTextSearchAfter(
+            String query,
+            EmploymentType employmentType,
+            JobStatus jobStatus,
+            Integer minSalary,
+            Integer maxSalary,
+            JobOfferCursor after,
+            int limit
+    );
+
+    /**
+     * Ids of the jobs matching the query and filters, ORDER BY coalesce(title, ''), id,
+     * starting right after the given row: an index seek on that key, so every page costs
+     * the same.
+     *
+     * @param fullText match the query on search_vector (callers check it is ready), or
+     *                 as a substring of title / location / description like searchAndFilter
+     * @param after    null for the first page
+     */
+    List<UUID> keysetSearch(
+            String query,
+            boolean fullText,
+            EmploymentType employmentType,
+            JobStatus jobStatus,
+            Integer minSalary,
+            Integer maxSalary,
+            JobOfferCursor after,
+            int limit
+    );
+
+    /** Total rows keysetSearch can return for the same arguments (over all pages). */
+    long countMatching(
+            String query,
+            boolean fullText,
+            EmploymentType employmentType,
+            JobStatus jobStatus,
+            Integer minSalary,
+            Integer maxSalary
+    );
+}
@@ -0,0 +1,188 @@
+package com.zaina.jobmicroservice.repos;
+
+import com.zaina.jobmicroservice.domain.enums.EmploymentType;
+import com.zaina.jobmicroservice.domain.enums.JobStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+class JobOfferSearchRepoImpl implements JobOfferSearchRepo {
+
+    // & < > escaped before highlighting, so the snippets are safe to render as HTML
+    private static final String ESCAPED_TITLE =
+            "replace(replace(replace(coalesce(h.title, ''), '&', '&amp;'), '<', '&lt;'), '>', '&gt;')";
+    private static final String ESCAPED_DESCRIPTION =
+            "replace(replace(replace(coalesce(h.description, ''), '&', '&amp;'), '<', '&lt;'), '>', '&gt;')";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    JobOfferSearchRepoImpl(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public Page<JobSearchHit> fullTextSearch(
+            String query,
+            EmploymentType employmentType,
+            JobStatus jobStatus,
+            Integer minSalary,
+            Integer maxSalary,
+            Pageable pageable
+    ) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tsquery", JobOfferSearchQuery.toTsQuery(query));
+        String filters = filters(employmentType, jobStatus, minSalary, maxSalary, params);
+
+        List<JobSearchHit> hits = rankedHits(filters, "", params, pageable.getPageSize(), pageable.getOffset());
+
+        Long total = jdbc.queryForObject(
+                "SELECT count(*) FROM job_offer j WHERE j.search_vector @@ to_tsquery('simple', :tsquery) " + filters,
+                params, Long.class);
+
+        return new PageImpl<>(hits, pageable, total == null ? 0 : total);
+    }
+
+    @Override
+    public List<JobSearchHit> fullTextSearchAfter(
+            String query,
+            EmploymentType employmentType,
+            JobStatus jobStatus,
+            Integer minSalary,
+            Integer maxSalary,
+            JobOfferCursor after,
+            int limit
+    ) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tsquery", JobOfferSearchQuery.toTsQuery(query));
+        String filters = filters(employmentType, jobStatus, minSalary, maxSalary, params);
+
+        // past the cursor's row in (relevance DESC, title, id) order; relevance is a real,
+        // compared as one so the value that came out of the previous page matches exactly
+        String seek = """
+                WHERE m.relevance < CAST(:afterRelevance AS real)
+                   OR (m.relevance = CAST(:afterRelevance AS real)
+                       AND (coalesce(m.title, ''), m.id) > (:afterTitle, :afterId))
+                """;
+        params.addValue("afterRelevance", after.relevance());
+        params.addValue("afterTitle", after.title() == null ? "" : after.title());
+        params.addValue("afterId", after.id());
+        return rankedHits(filters, seek, params, limit, 0);
+    }
+
+    // ranked page first, then ts_headline (the expensive part) on those rows only
+    private List<JobSearchHit> rankedHits(String filters, String seek, MapSqlParameterSource params,
+                                          int limit, long offset) {
+        String sql = """
+                WITH q AS (SELECT to_tsquery('simple', :tsquery) AS query),
+                matches AS (
+                    SELECT j.id, j.title, j.description, ts_rank_cd(j.search_vector, q.query, 32) AS relevance
+                    FROM job_offer j, q
+                    WHERE j.search_vector @@ q.query %s
+                ),
+                hits AS (
+                    SELECT m.* FROM matches m
+                    %s
+                    ORDER BY m.relevance DESC, coalesce(m.title, '') ASC, m.id ASC
+                    LIMIT :limit OFFSET :offset
+                )
+                SELECT h.id, h.relevance,
+                       ts_headline('simple', %s, q.query,
+                                   'HighlightAll=true, StartSel=<mark>, StopSel=</mark>') AS title_highlight,
+                       ts_headline('simple', %s, q.query,
+                                   'MaxFragments=2, MaxWords=25, MinWords=8, StartSel=<mark>, StopSel=</mark>') AS description_highlight
+                FROM hits h, q
+                ORDER BY h.relevance DESC, coalesce(h.title, '') ASC, h.id ASC
+                """.formatted(filters, seek, ESCAPED_TITLE, ESCAPED_DESCRIPTION);
+        params.addValue("limit", limit);
+        params.addValue("offset", offset);
+
+        return jdbc.query(sql, params, (rs, i) -> new JobSearchHit(
+                rs.getObject("id", UUID.class),
+                rs.getDouble("relevance"),
+                rs.getString("title_highlight"),
+                rs.getString("description_highlight")));
+    }
+
+    @Override
+    public List<UUID> keysetSearch(
+            String query,
+            boolean fullText,
+            EmploymentType employmentType,
+            JobStatus jobStatus,
+            Integer minSalary,
+            Integer maxSalary,
+            JobOfferCursor after,
+            int limit
+    ) {
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        StringBuilder where = new StringBuilder(matching(query, fullText, params))
+                .append(filters(employmentType, jobStatus, minSalary, maxSalary, params));
+
+        // coalesce: one non-null sort key, so a single row comparison seeks on
+        // idx_job_offer_sort_key (see JobSearchIndexSetup); untitled jobs sort first
+        if (after != null) {
+            where.append(" AND (coalesce(j.title, ''), j.id) > (:afterTitle, :afterId)");
+            params.addValue("afterTitle", after.title() == null ? "" : after.title());
+            params.addValue("afterId", after.id());
+        }
+
+        return jdbc.queryForList(
+                "SELECT j.id FROM job_offer j WHERE " + where
+                        + " ORDER BY coalesce(j.title, '') ASC, j.id ASC LIMIT :limit",
+                params, UUID.class);
+    }
+
+    @Override
+    public long countMatching(
+            String query,
+            boolean fullText,
+            EmploymentType employmentType,
+            JobStatus jobStatus,
+            Integer minSalary,
+            Integer maxSalary
+    ) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = matching(query, fullText, params) + filters(employmentType, jobStatus, minSalary, maxSalary, params);
+        Long total = jdbc.queryForObject("SELECT count(*) FROM job_offer j WHERE " + where, params, Long.class);
+        return total == null ? 0 : total;
+    }
+
+    private static String matching(String query, boolean fullText, MapSqlParameterSource params) {
+        if (fullText && JobOfferSearchQuery.hasTerms(query)) {
+            params.addValue("tsquery", JobOfferSearchQuery.toTsQuery(query));
+            return "j.search_vector @@ to_tsquery('simple', :tsquery)";
+        }
+        if (query == null || query.isBlank()) return "TRUE";
+        // same substring match as searchAndFilter
+        params.addValue("pattern", "%" + query.toLowerCase(Locale.ROOT) + "%");
+        return "(lower(coalesce(j.title, '')) LIKE :pattern"
+                + " OR lower(coalesce(j.location, '')) LIKE :pattern"
+                + " OR lower(coalesce(j.description, '')) LIKE :pattern)";
+    }
+
+    private static String filters(EmploymentType employmentType, JobStatus jobStatus,
+                                  Integer minSalary, Integer maxSalary, MapSqlParameterSource params) {
+        StringBuilder sb = new StringBuilder();
+        if (employmentType != null) {
+            sb.append(" AND j.employment_type = :employmentType");
+            params.addValue("employmentType", employmentType.name());
+        }
+        if (jobStatus != null) {
+            sb.append(" AND j.job_status = :jobStatus");
+            params.addValue("jobStatus", jobStatus.name());
+        }
+        if (minSalary != null) {
+            sb.append(" AND j.min_salary >= :minSalary");
+            params.addValue("minSalary", minSalary);
+        }
+        if (maxSalary != null) {
+            sb.append(" AND j.max_salary <= :maxSalary");
+            params.addValue("maxSalary", maxSalary);
+        }
+        return sb.toString();
+    }
+}
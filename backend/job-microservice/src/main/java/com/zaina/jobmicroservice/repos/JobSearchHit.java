@@ -0,0 +1,10 @@
+package com.zaina.jobmicroservice.repos;
+
+import java.util.UUID;
+
+/**
+ * One full-text match: relevance in [0, 1) and HTML-escaped snippets with the matched
+ * words wrapped in &lt;mark&gt;.
+ */
+public record JobSearchHit(UUID id, double relevance, String titleHighlight, String descriptionHighlight) {
+}
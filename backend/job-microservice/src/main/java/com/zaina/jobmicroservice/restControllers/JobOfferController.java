@@ -4,14 +4,25 @@ import com.zaina.jobmicroservice.dto.JobOfferDto;
 import com.zaina.jobmicroservice.dto.PageResponse;
 import com.zaina.jobmicroservice.domain.enums.EmploymentType;
 import com.zaina.jobmicroservice.domain.enums.JobStatus;
+import com.zaina.jobmicroservice.repos.JobOfferCursor;
 import com.zaina.jobmicroservice.services.JobOfferService;
+import com.zaina.jobmicroservice.services.JobSearchIndex;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -20,14 +31,44 @@ import java.util.UUID;
 public class JobOfferController {
 
     private final JobOfferService service;
+    private final JobSearchIndex jobSearchIndex;
+    private final ObjectMapper objectMapper;
 
     /**
      * Get all jobs (for backward compatibility)
      * GET /api/jobs
+     *
+     * Same JSON array as before, but written out while the rows are read, so neither side
+     * holds the whole table. Rows are read in pages, each in its own short transaction, so
+     * a slow client doesn't hold a connection. For pages use /search (no query, cursor=nextCursor).
      */
     @GetMapping
-    public List<JobOfferDto> getAll() {
-        return service.getJobOffers();
+    public ResponseEntity<StreamingResponseBody> getAll() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                service.forEachJobOffer(job -> {
+                    try {
+                        objectMapper.writeValue(json, job);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Get several jobs in one call (used by application-microservice to enrich list pages)
+     * GET /api/jobs/batch?ids=...
+     *
+     * Unknown ids are skipped, so the result can be shorter than the request.
+     */
+    @GetMapping("/batch")
+    public List<JobOfferDto> getByIds(@RequestParam List<UUID> ids) {
+        return service.getJobOffersByIds(ids);
     }
 
     /**
@@ -39,6 +80,9 @@ public class JobOfferController {
      * @param maxSalary Filter by maximum salary
      * @param page Page number (0-indexed, default 0)
      * @param size Items per page (default 10)
+     * @param cursor nextCursor of the previous page: keyset paging in title order (relevance
+     *               order for full-text results), where page N costs the same as page 1
+     *               (page is then only echoed back)
      * @return Paginated response with filtered jobs
      */
     @GetMapping("/search")
@@ -49,7 +93,8 @@ public class JobOfferController {
             @RequestParam(required = false) Integer minSalary,
             @RequestParam(required = false) Integer maxSalary,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
 
         // Defensive pagination: keep API stable even with bad inputs
         if (page < 0) page = 0;
@@ -84,6 +129,41 @@ public class JobOfferController {
             }
         }
 
+        if (cursor != null && !cursor.isBlank()) {
+            JobOfferCursor after;
+            try {
+                after = JobOfferCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            // a cursor continues the path that issued it (see JobOfferCursor)
+            PageResponse<JobOfferDto> next;
+            if (after.source() == JobOfferCursor.Source.INDEX) {
+                if (status != JobStatus.PUBLISHED) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match this search");
+                }
+                next = jobSearchIndex.searchAfter(query, employment, minSalary, maxSalary, after, size)
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "Cursor expired, search again without it"));
+            } else {
+                try {
+                    next = service.searchJobsAfter(query, employment, status, minSalary, maxSalary, after, size);
+                } catch (IllegalArgumentException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+                }
+            }
+            next.setPage(page);
+            return next;
+        }
+
+        // the public board (PUBLISHED only) is served from memory once the index is built;
+        // recruiter searches over drafts / closed jobs stay on the database
+        if (status == JobStatus.PUBLISHED) {
+            Optional<PageResponse<JobOfferDto>> indexed =
+                    jobSearchIndex.search(query, employment, minSalary, maxSalary, page, size);
+            if (indexed.isPresent()) return indexed.get();
+        }
+
         Pageable pageable = PageRequest.of(page, size);
         return service.searchJobs(query, employment, status, minSalary, maxSalary, pageable);
     }
@@ -136,7 +216,9 @@ public class JobOfferController {
      */
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable UUID id) {
-        service.deleteJobOffer(id);
+    public void delete(
+            @PathVariable UUID id,
+            @RequestHeader(name = ACTOR_USER_ID_HEADER, required = false) String actorUserId) {
+        service.deleteJobOffer(id, actorUserId);
     }
 }
\ No newline at end of file
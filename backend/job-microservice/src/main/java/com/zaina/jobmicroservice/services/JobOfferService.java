@@ -4,19 +4,29 @@ import com.zaina.jobmicroservice.dto.JobOfferDto;
 import com.zaina.jobmicroservice.dto.PageResponse;
 import com.zaina.jobmicroservice.domain.enums.EmploymentType;
 import com.zaina.jobmicroservice.domain.enums.JobStatus;
+import com.zaina.jobmicroservice.repos.JobOfferCursor;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface JobOfferService {
     JobOfferDto getJobOfferById(UUID id);
 
-    List<JobOfferDto> getJobOffers();
+    // every job, read a page at a time in short transactions (GET /api/jobs writes them out as they come)
+    void forEachJobOffer(Consumer<JobOfferDto> action);
+
+    List<JobOfferDto> getJobOffersByIds(List<UUID> ids);
 
     PageResponse<JobOfferDto> searchJobs(String query, EmploymentType employmentType, JobStatus jobStatus, Integer minSalary, Integer maxSalary, Pageable pageable);
 
+    // keyset page after the row the cursor points to (null: first page of the title-ordered listing);
+    // a RANKED cursor continues a full-text search in relevance order, IllegalArgumentException if
+    // this search can't (full-text unavailable, or no terms in the query)
+    PageResponse<JobOfferDto> searchJobsAfter(String query, EmploymentType employmentType, JobStatus jobStatus, Integer minSalary, Integer maxSalary, JobOfferCursor after, int size);
+
     JobOfferDto createJobOffer(JobOfferDto dto, String actorUserId);
     JobOfferDto updateJobOffer(UUID id, JobOfferDto dto, String reason, String actorUserId);
-    void deleteJobOffer(UUID id);
+    void deleteJobOffer(UUID id, String actorUserId);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.zaina.jobmicroservice.services;
 
+import com.zaina.jobmicroservice.config.JobSearchIndexSetup;
 import com.zaina.jobmicroservice.domain.entities.JobOffer;
 import com.zaina.jobmicroservice.domain.entities.JobRequirement;
 import com.zaina.jobmicroservice.dto.JobOfferDto;
@@ -9,24 +10,47 @@ import com.zaina.jobmicroservice.domain.enums.EmploymentType;
 import com.zaina.jobmicroservice.domain.enums.JobStatus;
 import com.zaina.jobmicroservice.messaging.AppEventMessage;
 import com.zaina.jobmicroservice.messaging.AppEventPublisher;
+import com.zaina.jobmicroservice.repos.JobOfferCursor;
 import com.zaina.jobmicroservice.repos.JobOfferRepo;
-import lombok.AllArgsConstructor;
+import com.zaina.jobmicroservice.repos.JobOfferSearchQuery;
+import com.zaina.jobmicroservice.repos.JobSearchHit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Transactional
 public class JobOfferServiceImpl implements JobOfferService {
 
+    // rows per transaction of forEachJobOffer
+    private static final int STREAM_PAGE_SIZE = 500;
+
     private final AppEventPublisher eventPublisher;
     private final JobOfferRepo jobOfferRepo;
+    private final JobSearchIndexSetup searchIndex;
+    private final RefNumberAllocator refNumberAllocator;
+    private final PlatformTransactionManager transactionManager;
+
+    // off: every text search uses the LIKE query (searchAndFilter)
+    @Value("${app.search.full-text.enabled:true}")
+    private boolean fullTextEnabled;
 
     private static JobRequirementDto toDtoReq(JobRequirement r) {
         return new JobRequirementDto(
@@ -39,7 +63,21 @@ public class JobOfferServiceImpl implements JobOfferService {
         );
     }
 
-    private static JobOfferDto toDto(JobOffer j) {
+    // one readable line per requirement, e.g. "SKILL: Java (weight 3.0, 2-5 years)", for the audit trail
+    private static List<String> requirementLabels(List<JobRequirement> requirements) {
+        if (requirements == null) return List.of();
+        return requirements.stream().map(r -> {
+            StringBuilder sb = new StringBuilder().append(r.getCategory()).append(": ").append(r.getDescription());
+            sb.append(" (weight ").append(r.getWeight());
+            if (r.getMinYears() != null || r.getMaxYears() != null) {
+                sb.append(", ").append(r.getMinYears() == null ? 0 : r.getMinYears())
+                        .append(r.getMaxYears() == null ? "+" : "-" + r.getMaxYears()).append(" years");
+            }
+            return sb.append(')').toString();
+        }).toList();
+    }
+
+    static JobOfferDto toDto(JobOffer j) {
         return new JobOfferDto(
                 j.getId(),
                 j.getRefNumber(),   // ← mapped
@@ -52,7 +90,9 @@ public class JobOfferServiceImpl implements JobOfferService {
                 j.getJobStatus(),
                 j.getRequirements() == null
                         ? List.of()
-                        : j.getRequirements().stream().map(JobOfferServiceImpl::toDtoReq).toList()
+                        : j.getRequirements().stream().map(JobOfferServiceImpl::toDtoReq).toList(),
+                null,
+                null
         );
     }
 
@@ -64,10 +104,42 @@ public class JobOfferServiceImpl implements JobOfferService {
         return toDto(jobOffer);
     }
 
+    // a short read-only transaction per page, and the action runs outside of it: a slow
+    // client holds no connection while it reads, and memory stays flat however big the table is
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachJobOffer(Consumer<JobOfferDto> action) {
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+
+        UUID after = new UUID(0, 0);   // sorts before every uuid
+        while (true) {
+            UUID from = after;
+            List<JobOfferDto> page = readOnlyTx.execute(tx -> {
+                List<UUID> ids = jobOfferRepo.findIdsAfter(from, PageRequest.of(0, STREAM_PAGE_SIZE));
+                Map<UUID, JobOffer> byId = jobOfferRepo.findAllById(ids).stream()
+                        .collect(Collectors.toMap(JobOffer::getId, Function.identity()));
+                List<JobOfferDto> dtos = new ArrayList<>(ids.size());
+                for (UUID id : ids) {
+                    JobOffer job = byId.get(id);
+                    if (job != null) dtos.add(toDto(job));   // null: deleted between the two queries
+                }
+                return dtos;
+            });
+            if (page == null || page.isEmpty()) return;
+
+            page.forEach(action);
+            if (page.size() < STREAM_PAGE_SIZE) return;
+            after = page.get(page.size() - 1).getId();
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<JobOfferDto> getJobOffers() {
-        return jobOfferRepo.findAll().stream().map(JobOfferServiceImpl::toDto).toList();
+    public List<JobOfferDto> getJobOffersByIds(List<UUID> ids) {
+        if (ids == null || ids.isEmpty()) return List.of();
+        return jobOfferRepo.findAllById(ids.stream().distinct().toList())
+                .stream().map(JobOfferServiceImpl::toDto).toList();
     }
 
     @Override
@@ -80,6 +152,12 @@ public class JobOfferServiceImpl implements JobOfferService {
             Integer maxSalary,
             Pageable pageable) {
 
+        // LIKE fallback: full-text off or its index missing (see JobSearchIndexSetup), or
+        // nothing to match on (no query, or no letters / digits in it)
+        if (fullTextEnabled && searchIndex.isReady() && JobOfferSearchQuery.hasTerms(query)) {
+            return fullTextSearch(query, employmentType, jobStatus, minSalary, maxSalary, pageable);
+        }
+
         Page<JobOffer> page = jobOfferRepo.searchAndFilter(
                 query,
                 employmentType,
@@ -89,8 +167,135 @@ public class JobOfferServiceImpl implements JobOfferService {
                 pageable
         );
 
+        PageResponse<JobOfferDto> response =
+                toPageResponse(page, page.getContent().stream().map(JobOfferServiceImpl::toDto).toList());
+        response.setNextCursor(nextCursor(JobOfferCursor.Source.DATABASE, response.getContent(), page.hasNext()));
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<JobOfferDto> searchJobsAfter(
+            String query,
+            EmploymentType employmentType,
+            JobStatus jobStatus,
+            Integer minSalary,
+            Integer maxSalary,
+            JobOfferCursor after,
+            int size) {
+
+        boolean fullText = fullTextEnabled && searchIndex.isReady();
+        if (after != null && after.source() == JobOfferCursor.Source.RANKED) {
+            if (!fullText || !JobOfferSearchQuery.hasTerms(query)) {
+                throw new IllegalArgumentException("Cursor does not match this search");
+            }
+            return fullTextSearchAfter(query, employmentType, jobStatus, minSalary, maxSalary, after, size);
+        }
+        // one row more than the page tells whether there is a next one
+        List<UUID> ids = jobOfferRepo.keysetSearch(
+                query, fullText, employmentType, jobStatus, minSalary, maxSalary, after, size + 1);
+        boolean hasNext = ids.size() > size;
+        if (hasNext) ids = ids.subList(0, size);
+
+        Map<UUID, JobOffer> byId = jobOfferRepo.findAllById(ids).stream()
+                .collect(Collectors.toMap(JobOffer::getId, Function.identity()));
+        List<JobOfferDto> content = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            JobOffer job = byId.get(id);
+            if (job != null) content.add(toDto(job));   // null: deleted between the two queries
+        }
+
+        // the total only comes with the first page: counting every match again on each
+        // page would cost what the seek saves (the client keeps the first page's total)
+        long total = after == null
+                ? jobOfferRepo.countMatching(query, fullText, employmentType, jobStatus, minSalary, maxSalary)
+                : -1;
+        return PageResponse.<JobOfferDto>builder()
+                .content(content)
+                .page(0)
+                .size(size)
+                .totalElements(total)
+                .totalPages(total < 0 ? -1 : (int) Math.ceil((double) total / size))
+                .hasNext(hasNext)
+                .hasPrevious(after != null)
+                .nextCursor(nextCursor(JobOfferCursor.Source.DATABASE, content, hasNext))
+                .build();
+    }
+
+    static String nextCursor(JobOfferCursor.Source source, List<JobOfferDto> content, boolean hasNext) {
+        if (!hasNext || content.isEmpty()) return null;
+        JobOfferDto last = content.get(content.size() - 1);
+        Float relevance = source == JobOfferCursor.Source.RANKED ? last.getRelevance().floatValue() : null;
+        return new JobOfferCursor(source, last.getTitle(), last.getId(), relevance).encode();
+    }
+
+    private PageResponse<JobOfferDto> fullTextSearch(
+            String query,
+            EmploymentType employmentType,
+            JobStatus jobStatus,
+            Integer minSalary,
+            Integer maxSalary,
+            Pageable pageable) {
+
+        Page<JobSearchHit> hits = jobOfferRepo.fullTextSearch(
+                query, employmentType, jobStatus, minSalary, maxSalary, pageable);
+
+        PageResponse<JobOfferDto> response = toPageResponse(hits, toDtos(hits.getContent()));
+        // deeper pages seek past the last row instead of skipping OFFSET ranked rows
+        response.setNextCursor(nextCursor(JobOfferCursor.Source.RANKED, response.getContent(), hits.hasNext()));
+        return response;
+    }
+
+    private PageResponse<JobOfferDto> fullTextSearchAfter(
+            String query,
+            EmploymentType employmentType,
+            JobStatus jobStatus,
+            Integer minSalary,
+            Integer maxSalary,
+            JobOfferCursor after,
+            int size) {
+
+        List<JobSearchHit> hits = jobOfferRepo.fullTextSearchAfter(
+                query, employmentType, jobStatus, minSalary, maxSalary, after, size + 1);
+        boolean hasNext = hits.size() > size;
+        List<JobOfferDto> content = toDtos(hasNext ? hits.subList(0, size) : hits);
+
+        // no count after the first page, as on the title-ordered keyset path
         return PageResponse.<JobOfferDto>builder()
-                .content(page.getContent().stream().map(JobOfferServiceImpl::toDto).toList())
+                .content(content)
+                .page(0)
+                .size(size)
+                .totalElements(-1)
+                .totalPages(-1)
+                .hasNext(hasNext)
+                .hasPrevious(true)
+                .nextCursor(nextCursor(JobOfferCursor.Source.RANKED, content, hasNext))
+                .build();
+    }
+
+    // hits in rank order, with their relevance and highlights
+    private List<JobOfferDto> toDtos(List<JobSearchHit> hits) {
+        Map<UUID, JobOffer> byId = jobOfferRepo.findAllById(hits.stream().map(JobSearchHit::id).toList()).stream()
+                .collect(Collectors.toMap(JobOffer::getId, Function.identity()));
+
+        List<JobOfferDto> content = new ArrayList<>(hits.size());
+        for (JobSearchHit hit : hits) {
+            JobOffer job = byId.get(hit.id());
+            if (job == null) continue;   // deleted between the two queries
+            JobOfferDto dto = toDto(job);
+            dto.setRelevance(hit.relevance());
+            Map<String, String> highlights = new HashMap<>();
+            highlights.put("title", hit.titleHighlight());
+            highlights.put("description", hit.descriptionHighlight());
+            dto.setHighlights(highlights);
+            content.add(dto);
+        }
+        return content;
+    }
+
+    private static PageResponse<JobOfferDto> toPageResponse(Page<?> page, List<JobOfferDto> content) {
+        return PageResponse.<JobOfferDto>builder()
+                .content(content)
                 .page(page.getNumber())
                 .size(page.getSize())
                 .totalElements(page.getTotalElements())
@@ -105,6 +310,7 @@ public class JobOfferServiceImpl implements JobOfferService {
         String actor = (actorUserId != null && !actorUserId.isBlank()) ? actorUserId : "SYSTEM";
 
         JobOffer entity = JobOffer.builder()
+                .refNumber(refNumberAllocator.nextRefNumber())
                 .title(dto.getTitle())
                 .description(dto.getDescription())
                 .location(dto.getLocation())
@@ -127,14 +333,9 @@ public class JobOfferServiceImpl implements JobOfferService {
             }
         }
 
-        // first save to get the id
+        // id and refNumber are both known before the insert: a single INSERT per job
         JobOffer saved = jobOfferRepo.save(entity);
 
-        // generate unique sequential refNumber after first save
-        int seq = jobOfferRepo.nextRefSequence();
-        saved.setRefNumber(String.format("JOB-%05d", seq));
-        saved = jobOfferRepo.save(saved);
-
         JobOfferDto result = toDto(saved);
 
         AppEventMessage evt = new AppEventMessage();
@@ -147,6 +348,9 @@ public class JobOfferServiceImpl implements JobOfferService {
         target.setType("JOB");
         target.setId(saved.getId().toString());
         evt.setTarget(target);
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("jobTitle", saved.getTitle());
+        evt.setPayload(payload);
         eventPublisher.publish("audit.job", evt);
 
         return result;
@@ -165,6 +369,7 @@ public class JobOfferServiceImpl implements JobOfferService {
         Integer oldMaxSalary     = existing.getMaxSalary();
         var oldEmploymentType    = existing.getEmploymentType();
         var oldJobStatus         = existing.getJobStatus();
+        List<String> oldRequirements = requirementLabels(existing.getRequirements());
 
         existing.setTitle(dto.getTitle());
         existing.setDescription(dto.getDescription());
@@ -192,7 +397,7 @@ public class JobOfferServiceImpl implements JobOfferService {
         JobOffer saved = jobOfferRepo.save(existing);
         JobOfferDto result = toDto(saved);
 
-        Map<String, Object> changes = new java.util.HashMap<>();
+        Map<String, Object> changes = new HashMap<>();
         if (!java.util.Objects.equals(oldTitle,          saved.getTitle()))          changes.put("title",          Map.of("old", oldTitle,          "new", saved.getTitle()));
         if (!java.util.Objects.equals(oldDescription,    saved.getDescription()))    changes.put("description",    Map.of("old", oldDescription,    "new", saved.getDescription()));
         if (!java.util.Objects.equals(oldLocation,       saved.getLocation()))       changes.put("location",       Map.of("old", oldLocation,       "new", saved.getLocation()));
@@ -200,6 +405,9 @@ public class JobOfferServiceImpl implements JobOfferService {
         if (!java.util.Objects.equals(oldMaxSalary,      saved.getMaxSalary()))      changes.put("maxSalary",      Map.of("old", oldMaxSalary,      "new", saved.getMaxSalary()));
         if (!java.util.Objects.equals(oldEmploymentType, saved.getEmploymentType())) changes.put("employmentType", Map.of("old", oldEmploymentType, "new", saved.getEmploymentType()));
         if (!java.util.Objects.equals(oldJobStatus,      saved.getJobStatus()))      changes.put("jobStatus",      Map.of("old", oldJobStatus,      "new", saved.getJobStatus()));
+        // consumers that score candidates against the requirements (application ranking) key off this one
+        List<String> newRequirements = requirementLabels(saved.getRequirements());
+        if (!oldRequirements.equals(newRequirements))                                changes.put("requirements",   Map.of("old", oldRequirements,   "new", newRequirements));
 
         AppEventMessage evt = new AppEventMessage();
         evt.setEventType("JOB_UPDATED");
@@ -221,8 +429,25 @@ public class JobOfferServiceImpl implements JobOfferService {
     }
 
     @Override
-    public void deleteJobOffer(UUID id) {
-        if (!jobOfferRepo.existsById(id)) throw new RuntimeException("JobOffer not found: " + id);
-        jobOfferRepo.deleteById(id);
+    public void deleteJobOffer(UUID id, String actorUserId) {
+        String actor = (actorUserId != null && !actorUserId.isBlank()) ? actorUserId : "SYSTEM";
+        JobOffer existing = jobOfferRepo.findById(id)
+                .orElseThrow(() -> new RuntimeException("JobOffer not found: " + id));
+        jobOfferRepo.delete(existing);
+
+        AppEventMessage evt = new AppEventMessage();
+        evt.setEventType("JOB_DELETED");
+        evt.setProducer("job-microservice");
+        AppEventMessage.Actor actorObj = new AppEventMessage.Actor();
+        actorObj.setUserId(actor);
+        evt.setActor(actorObj);
+        AppEventMessage.Target target = new AppEventMessage.Target();
+        target.setType("JOB");
+        target.setId(id.toString());
+        evt.setTarget(target);
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("jobTitle", existing.getTitle());
+        evt.setPayload(payload);
+        eventPublisher.publish("audit.job", evt);
     }
 }
\ No newline at end of file
@@ -0,0 +1,436 @@
+package com.zaina.jobmicroservice.services;
+
+import com.zaina.jobmicroservice.domain.entities.JobOffer;
+import com.zaina.jobmicroservice.domain.enums.EmploymentType;
+import com.zaina.jobmicroservice.domain.enums.JobStatus;
+import com.zaina.jobmicroservice.dto.JobOfferDto;
+import com.zaina.jobmicroservice.dto.JobRequirementDto;
+import com.zaina.jobmicroservice.dto.PageResponse;
+import com.zaina.jobmicroservice.repos.JobOfferCursor;
+import com.zaina.jobmicroservice.repos.JobOfferRepo;
+import com.zaina.jobmicroservice.repos.JobOfferSearchQuery;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index of the published job offers, serving the public job board
+ * search (jobStatus=PUBLISHED) without a database round trip.
+ *
+ * Title, location, description and requirement texts are split into words (same rules
+ * as full-text search, see JobOfferSearchQuery). Each word keeps a posting list of int
+ * doc ids, delta + varint encoded, in a sorted map so that a query word matches as a
+ * prefix. Doc ids only grow, so posting lists are append-only: an update indexes the
+ * new version under a new id and retires the old one from the live set; retired ids
+ * are dropped by an in-memory compaction once they outnumber the live ones.
+ *
+ * Built at startup from a streaming scan, then kept current by JOB_* events (see
+ * JobIndexEventsListener), so every replica converges on its own. Until the first build
+ * is done search() returns empty and callers use the database paths.
+ *
+ * Event reloads run one at a time, so a later read always lands after an earlier one.
+ * While a build reads its snapshot they are only recorded, and replayed on top of the
+ * snapshot once it is swapped in: an older snapshot never overwrites a newer reload.
+ */
+@Component
+@Slf4j
+public class JobSearchIndex {
+
+    private static final int COMPACT_MIN_DEAD = 1024;
+
+    // close to ORDER BY coalesce(title, ''), id, uuids compared unsigned like Postgres does;
+    // Java can't follow the database collation exactly, hence the per-path cursors (JobOfferCursor)
+    private static final Comparator<Doc> ORDER = Comparator
+            .comparing(Doc::sortTitle)
+            .thenComparing(Doc::id, JobSearchIndex::compareUnsigned);
+
+    private final JobOfferRepo jobOfferRepo;
+    private final TransactionTemplate readOnlyTx;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.search.index.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // guarded by lock
+    private TreeMap<String, PostingList> postings = new TreeMap<>();
+    private List<Doc> docs = new ArrayList<>();
+    private Map<UUID, Integer> docIds = new HashMap<>();
+    private BitSet live = new BitSet();
+
+    // serializes event reloads with each other and with the swap of a build
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    // guarded by reloadLock, set while a build reads its snapshot: jobs changed meanwhile,
+    // reloaded once the snapshot is swapped in
+    private Set<UUID> changedDuringBuild;
+    private volatile boolean ready;
+
+    record Doc(JobOfferDto job, String sortTitle, UUID id) {}
+
+    public JobSearchIndex(JobOfferRepo jobOfferRepo, PlatformTransactionManager transactionManager,
+                          MeterRegistry registry) {
+        this.jobOfferRepo = jobOfferRepo;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        Gauge.builder("jobs.search.index.documents", this, JobSearchIndex::size)
+                .description("Published job offers in the in-memory search index")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) return;
+        Thread.ofVirtual().name("job-search-index-build").start(this::rebuild);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * One page of published jobs matching every word of query (as a prefix) and the
+     * filters, ordered by title like the database paths. Empty until the index is built.
+     */
+    public Optional<PageResponse<JobOfferDto>> search(String query, EmploymentType employmentType,
+                                                      Integer minSalary, Integer maxSalary, int page, int size) {
+        if (!ready) return Optional.empty();
+
+        lock.readLock().lock();
+        try {
+            BitSet hits = hits(query, employmentType, minSalary, maxSalary);
+            int total = hits.cardinality();
+            long from = (long) page * size;
+            List<JobOfferDto> content = from >= total
+                    ? List.of()
+                    : top(hits, (int) Math.min(from + size, total), null).subList((int) from,
+                            (int) Math.min(from + size, total));
+
+            int totalPages = (int) Math.ceil((double) total / size);
+            boolean hasNext = page + 1 < totalPages;
+            return Optional.of(PageResponse.<JobOfferDto>builder()
+                    .content(content)
+                    .page(page)
+                    .size(size)
+                    .totalElements(total)
+                    .totalPages(totalPages)
+                    .hasNext(hasNext)
+                    .hasPrevious(page > 0)
+                    .nextCursor(JobOfferServiceImpl.nextCursor(JobOfferCursor.Source.INDEX, content, hasNext))
+                    .build());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Like search, but the page starts after the cursor's row: no offset to skip through. */
+    public Optional<PageResponse<JobOfferDto>> searchAfter(String query, EmploymentType employmentType,
+                                                           Integer minSalary, Integer maxSalary,
+                                                           JobOfferCursor after, int size) {
+        if (!ready) return Optional.empty();
+
+        lock.readLock().lock();
+        try {
+            BitSet hits = hits(query, employmentType, minSalary, maxSalary);
+            int total = hits.cardinality();
+            // one more than the page tells whether there is a next one
+            List<JobOfferDto> content = top(hits, size + 1, after);
+            boolean hasNext = content.size() > size;
+            if (hasNext) content = content.subList(0, size);
+
+            return Optional.of(PageResponse.<JobOfferDto>builder()
+                    .content(content)
+                    .page(0)
+                    .size(size)
+                    .totalElements(total)
+                    .totalPages((int) Math.ceil((double) total / size))
+                    .hasNext(hasNext)
+                    .hasPrevious(after != null)
+                    .nextCursor(JobOfferServiceImpl.nextCursor(JobOfferCursor.Source.INDEX, content, hasNext))
+                    .build());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // under the read lock: live docs matching every query word (as a prefix) and the filters
+    private BitSet hits(String query, EmploymentType employmentType, Integer minSalary, Integer maxSalary) {
+        BitSet hits = (BitSet) live.clone();
+        for (String word : JobOfferSearchQuery.words(query)) {
+            BitSet any = new BitSet();
+            for (PostingList list : postings.subMap(word, true, word + Character.MAX_VALUE, true).values()) {
+                list.orInto(any);
+            }
+            hits.and(any);
+            if (hits.isEmpty()) break;
+        }
+        for (int id = hits.nextSetBit(0); id >= 0; id = hits.nextSetBit(id + 1)) {
+            if (!matches(docs.get(id).job(), employmentType, minSalary, maxSalary)) hits.clear(id);
+        }
+        return hits;
+    }
+
+    /** Re-reads one job after a JOB_* event: (re)indexed if published, dropped otherwise. */
+    public void refresh(UUID jobId) {
+        if (!enabled) return;
+        reloadLock.lock();
+        try {
+            if (changedDuringBuild != null) changedDuringBuild.add(jobId);
+            else reload(jobId);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /** The job was deleted; like refresh, ordered with the other reloads. */
+    public void remove(UUID jobId) {
+        reloadLock.lock();
+        try {
+            if (changedDuringBuild != null) changedDuringBuild.add(jobId);
+            else drop(jobId);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // under reloadLock
+    private void reload(UUID jobId) {
+        JobOfferDto job = readOnlyTx.execute(tx -> jobOfferRepo.findWithRequirementsById(jobId)
+                .filter(j -> j.getJobStatus() == JobStatus.PUBLISHED)
+                .map(JobOfferServiceImpl::toDto)
+                .orElse(null));
+        if (job == null) drop(jobId);
+        else put(job);
+    }
+
+    private void drop(UUID jobId) {
+        lock.writeLock().lock();
+        try {
+            Integer id = docIds.remove(jobId);
+            if (id != null) {
+                live.clear(id);
+                docs.set(id, null);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void put(JobOfferDto job) {
+        lock.writeLock().lock();
+        try {
+            Integer old = docIds.remove(job.getId());
+            if (old != null) {
+                live.clear(old);
+                docs.set(old, null);
+            }
+            index(job);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        return live.cardinality();
+    }
+
+    void rebuild() {
+        long started = System.nanoTime();
+        reloadLock.lock();
+        try {
+            // reloads already running have finished: the snapshot below is newer than them
+            changedDuringBuild = new HashSet<>();
+        } finally {
+            reloadLock.unlock();
+        }
+
+        List<JobOfferDto> published = new ArrayList<>();
+        try {
+            readOnlyTx.executeWithoutResult(tx -> {
+                try (Stream<JobOffer> jobs = jobOfferRepo.streamWithRequirementsByJobStatus(JobStatus.PUBLISHED)) {
+                    jobs.forEach(job -> {
+                        published.add(JobOfferServiceImpl.toDto(job));
+                        entityManager.detach(job);   // keep the persistence context flat
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Job search index build failed, search stays on the database: {}", e.getMessage(), e);
+            replayChanges(null);
+            return;
+        }
+
+        replayChanges(published);
+        log.info("Job search index built: {} published jobs in {} ms",
+                published.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // swaps the snapshot in (if any), then reloads the jobs changed while it was read
+    private void replayChanges(List<JobOfferDto> published) {
+        reloadLock.lock();
+        try {
+            if (published != null) load(published);
+            Set<UUID> changed = changedDuringBuild;
+            changedDuringBuild = null;
+            changed.forEach(this::reload);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /** Replaces the whole index with these jobs. */
+    void load(List<JobOfferDto> published) {
+        lock.writeLock().lock();
+        try {
+            postings = new TreeMap<>();
+            docs = new ArrayList<>(published.size());
+            docIds = new HashMap<>(published.size() * 2);
+            live = new BitSet(published.size());
+            published.forEach(this::index);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // under the write lock
+    private void index(JobOfferDto job) {
+        int id = docs.size();
+        docs.add(new Doc(job, sortKey(job.getTitle()), job.getId()));
+        docIds.put(job.getId(), id);
+        live.set(id);
+
+        Set<String> words = new LinkedHashSet<>();
+        words.addAll(JobOfferSearchQuery.words(job.getTitle()));
+        words.addAll(JobOfferSearchQuery.words(job.getLocation()));
+        words.addAll(JobOfferSearchQuery.words(job.getDescription()));
+        if (job.getRequirements() != null) {
+            for (JobRequirementDto r : job.getRequirements()) {
+                words.addAll(JobOfferSearchQuery.words(r.getDescription()));
+            }
+        }
+        for (String word : words) {
+            postings.computeIfAbsent(word, w -> new PostingList()).add(id);
+        }
+    }
+
+    // under the write lock: re-index the live docs from memory once most ids are dead
+    private void compactIfNeeded() {
+        int dead = docs.size() - live.cardinality();
+        if (dead < COMPACT_MIN_DEAD || dead < live.cardinality()) return;
+
+        List<Doc> current = docs;
+        BitSet alive = live;
+        postings = new TreeMap<>();
+        docs = new ArrayList<>(alive.cardinality());
+        docIds = new HashMap<>(alive.cardinality() * 2);
+        live = new BitSet(alive.cardinality());
+        for (int id = alive.nextSetBit(0); id >= 0; id = alive.nextSetBit(id + 1)) {
+            index(current.get(id).job());
+        }
+    }
+
+    // the first n hits in title order (after the cursor's row, if any): a bounded
+    // max-heap, no full sort of every hit
+    private List<JobOfferDto> top(BitSet hits, int n, JobOfferCursor after) {
+        Doc bound = after == null ? null : new Doc(null, sortKey(after.title()), after.id());
+        PriorityQueue<Doc> heap = new PriorityQueue<>(n + 1, ORDER.reversed());
+        for (int id = hits.nextSetBit(0); id >= 0; id = hits.nextSetBit(id + 1)) {
+            Doc doc = docs.get(id);
+            if (bound != null && ORDER.compare(doc, bound) <= 0) continue;
+            if (heap.size() < n) {
+                heap.add(doc);
+            } else if (ORDER.compare(doc, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(doc);
+            }
+        }
+        JobOfferDto[] out = new JobOfferDto[heap.size()];
+        for (int i = out.length - 1; i >= 0; i--) out[i] = heap.poll().job();
+        return Arrays.asList(out);
+    }
+
+    private static String sortKey(String title) {
+        return title == null ? "" : title.toLowerCase(Locale.ROOT);
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static boolean matches(JobOfferDto job, EmploymentType employmentType,
+                                   Integer minSalary, Integer maxSalary) {
+        if (employmentType != null && job.getEmploymentType() != employmentType) return false;
+        if (minSalary != null && (job.getMinSalary() == null || job.getMinSalary() < minSalary)) return false;
+        if (maxSalary != null && (job.getMaxSalary() == null || job.getMaxSalary() > maxSalary)) return false;
+        return true;
+    }
+
+    /** Ascending doc ids, stored as varint-encoded gaps: ~1 byte per posting on dense lists. */
+    static final class PostingList {
+
+        private byte[] bytes = new byte[4];
+        private int length;
+        private int last = -1;
+
+        void add(int doc) {
+            int gap = doc - last;   // ids only grow, so gap >= 1
+            last = doc;
+            if (length + 5 > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+            while ((gap & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            bytes[length++] = (byte) gap;
+        }
+
+        void orInto(BitSet set) {
+            int doc = -1;
+            int i = 0;
+            while (i < length) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[i++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                doc += gap;
+                set.set(doc);
+            }
+        }
+    }
+}
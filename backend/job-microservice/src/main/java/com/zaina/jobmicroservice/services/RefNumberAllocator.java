@@ -0,0 +1,118 @@
+package com.zaina.jobmicroservice.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out job reference numbers (JOB-00042) a block at a time (hi/lo): the
+ * job_ref_seq sequence increments by the block size, so one nextval reserves a whole
+ * block for this instance and the numbers in it cost nothing. No MAX(ref_number)
+ * scan, and no two jobs get the same number, whatever the number of replicas.
+ *
+ * Numbers are unique, but only ordered within one instance: with several replicas each
+ * draws from its own block, so a later job can get a lower number than an earlier one
+ * created elsewhere. Nor are they gapless: the rest of a block is lost when the instance
+ * stops, and a rolled-back create loses its number.
+ */
+@Component
+@Slf4j
+public class RefNumberAllocator {
+
+    static final String SEQUENCE = "job_ref_seq";
+
+    // created on first use, starting after the numbers already handed out
+    private static final String CREATE_SEQUENCE = """
+            DO $$
+            BEGIN
+                IF to_regclass('%1$s') IS NULL THEN
+                    EXECUTE format('CREATE SEQUENCE %1$s INCREMENT BY %2$d START WITH %%s',
+                        (SELECT COALESCE(MAX(substring(ref_number FROM 5)::bigint), 0) + 1
+                         FROM job_offer WHERE ref_number ~ '^JOB-[0-9]+$'));
+                END IF;
+            EXCEPTION WHEN duplicate_table OR unique_violation THEN
+                NULL;   -- another instance created it meanwhile
+            END $$
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTx;
+    // only used to create the sequence; afterwards its INCREMENT BY is every replica's block size
+    private final int configuredBlockSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // guarded by lock: [next, end) is what is left of the current block
+    private long next;
+    private long end;
+    private int blockSize;
+
+    public RefNumberAllocator(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.jobs.ref-number.block-size:50}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTx = new TransactionTemplate(transactionManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.configuredBlockSize = blockSize;
+    }
+
+    public String nextRefNumber() {
+        return String.format("JOB-%05d", next());
+    }
+
+    long next() {
+        lock.lock();
+        try {
+            if (next == end) {
+                if (blockSize == 0) blockSize = ensureSequence();
+                long first = reserveBlock();
+                next = first;
+                end = first + blockSize;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int blockSize() {
+        lock.lock();
+        try {
+            if (blockSize == 0) blockSize = ensureSequence();
+            return blockSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // first number of a fresh block; nextval is never rolled back, so the block is ours
+    // even if the caller's transaction fails
+    long reserveBlock() {
+        Long first = jdbcTemplate.queryForObject("SELECT nextval('" + SEQUENCE + "')", Long.class);
+        if (first == null) throw new IllegalStateException("nextval('" + SEQUENCE + "') returned no value");
+        return first;
+    }
+
+    // the block size; own transaction: a create that rolls back must not take the new sequence with it
+    int ensureSequence() {
+        Integer increment = newTx.execute(tx -> {
+            jdbcTemplate.execute(CREATE_SEQUENCE.formatted(SEQUENCE, configuredBlockSize));
+            return jdbcTemplate.queryForObject(
+                    "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?",
+                    Integer.class, SEQUENCE);
+        });
+        if (increment == null || increment < 1) {
+            throw new IllegalStateException("Sequence " + SEQUENCE + " is missing or has no positive increment");
+        }
+        if (increment != configuredBlockSize) {
+            log.info("{} increments by {}: using that as the block size (configured {})",
+                    SEQUENCE, increment, configuredBlockSize);
+        }
+        return increment;
+    }
+}
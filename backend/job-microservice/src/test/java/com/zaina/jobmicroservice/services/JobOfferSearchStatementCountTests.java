@@ -0,0 +1,188 @@
+package com.zaina.jobmicroservice.services;
+
+import com.zaina.jobmicroservice.domain.entities.JobOffer;
+import com.zaina.jobmicroservice.domain.entities.JobRequirement;
+import com.zaina.jobmicroservice.domain.enums.EmploymentType;
+import com.zaina.jobmicroservice.domain.enums.JobStatus;
+import com.zaina.jobmicroservice.domain.enums.RequirementCategory;
+import com.zaina.jobmicroservice.dto.JobOfferDto;
+import com.zaina.jobmicroservice.dto.PageResponse;
+import com.zaina.jobmicroservice.repos.JobOfferCursor;
+import com.zaina.jobmicroservice.repos.JobOfferRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL budget of one search page: the number of statements must not depend on the page
+ * size or on how many requirements the jobs have, so mapping each job's requirements
+ * lazily (one query per job) fails this test.
+ *
+ * Statements are counted on the DataSource's connections, so the JPA and the plain JDBC
+ * queries (keyset ids, counts) both are (see JobServiceTestConfig). Runs by default on an
+ * in-memory H2 in PostgreSQL mode; to count against a real, throwaway PostgreSQL instead:
+ * <pre>
+ * mvn test -Dtest=JobOfferSearchStatementCountTests \
+ *     -Djobs.test.jdbc.url=jdbc:postgresql://localhost:5432/jobtest \
+ *     -Djobs.test.jdbc.user=postgres -Djobs.test.jdbc.password=postgres
+ * </pre>
+ */
+@SpringJUnitConfig(JobOfferSearchStatementCountTests.Config.class)
+class JobOfferSearchStatementCountTests {
+
+    private static final int JOBS = 60;
+    private static final int REQUIREMENTS_PER_JOB = 4;
+    // offset: page, its requirements, count
+    private static final int OFFSET_PAGE_STATEMENTS = 3;
+    // keyset: ids, their jobs, their requirements, plus the count on the first page only
+    private static final int KEYSET_FIRST_PAGE_STATEMENTS = 4;
+    private static final int KEYSET_NEXT_PAGE_STATEMENTS = 3;
+
+    private static final String H2_URL =
+            "jdbc:h2:mem:statement-count;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final AtomicInteger STATEMENTS = new AtomicInteger();
+
+    @Configuration
+    @Import(JobServiceTestConfig.class)
+    static class Config {
+
+        @Bean
+        DataSource dataSource() {
+            String url = System.getProperty("jobs.test.jdbc.url");
+            DataSource target = url == null || url.isBlank()
+                    ? new DriverManagerDataSource(H2_URL, "sa", "")
+                    : new DriverManagerDataSource(url,
+                            System.getProperty("jobs.test.jdbc.user", "postgres"),
+                            System.getProperty("jobs.test.jdbc.password", "postgres"));
+            return new DelegatingDataSource(target) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return counting(super.getConnection());
+                }
+            };
+        }
+
+        // every prepareStatement / createStatement / prepareCall is one statement
+        private static Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.equals("prepareStatement") || name.equals("createStatement")
+                                || name.equals("prepareCall")) {
+                            STATEMENTS.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+
+    @Autowired
+    private JobOfferService service;
+
+    @Autowired
+    private JobOfferRepo jobOfferRepo;
+
+    @BeforeEach
+    void seed() {
+        if (jobOfferRepo.count() > 0) return;
+
+        List<JobOffer> jobs = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            JobOffer job = JobOffer.builder()
+                    .refNumber("TEST-%05d".formatted(i))
+                    .title("Java Developer " + i)
+                    .description("Spring Boot and PostgreSQL")
+                    .location(i % 2 == 0 ? "Tunis" : "Remote")
+                    .minSalary(1000 + i)
+                    .maxSalary(5000 + i)
+                    .employmentType(EmploymentType.FULL_TIME)
+                    .jobStatus(JobStatus.PUBLISHED)
+                    .build();
+            for (int r = 0; r < REQUIREMENTS_PER_JOB; r++) {
+                job.addRequirement(JobRequirement.builder()
+                        .category(RequirementCategory.SKILL)
+                        .description("Skill " + r)
+                        .weight(1.0)
+                        .build());
+            }
+            jobs.add(job);
+        }
+        jobOfferRepo.saveAll(jobs);
+    }
+
+    @Test
+    void offsetPageStatementsDoNotGrowWithPageSize() {
+        long small = statements(() -> assertThat(
+                service.searchJobs(null, null, JobStatus.PUBLISHED, null, null, PageRequest.of(0, 5))
+                        .getContent()).hasSize(5));
+        long large = statements(() -> assertThat(
+                service.searchJobs("java", null, JobStatus.PUBLISHED, null, null, PageRequest.of(1, 25))
+                        .getContent()).hasSize(25).allSatisfy(JobOfferSearchStatementCountTests::hasRequirements));
+
+        assertThat(large).isEqualTo(small).isLessThanOrEqualTo(OFFSET_PAGE_STATEMENTS);
+    }
+
+    // first pages also count the matches, so they are only compared with each other
+    @Test
+    void keysetFirstPageStatementsDoNotGrowWithPageSize() {
+        long small = statements(() -> assertThat(
+                service.searchJobsAfter(null, null, JobStatus.PUBLISHED, null, null, null, 5)
+                        .getContent()).hasSize(5));
+        long large = statements(() -> assertThat(
+                service.searchJobsAfter("java", null, JobStatus.PUBLISHED, null, null, null, 25)
+                        .getContent()).hasSize(25).allSatisfy(JobOfferSearchStatementCountTests::hasRequirements));
+
+        assertThat(large).isEqualTo(small).isLessThanOrEqualTo(KEYSET_FIRST_PAGE_STATEMENTS);
+    }
+
+    @Test
+    void keysetNextPageStatementsDoNotGrowWithPageSize() {
+        AtomicReference<PageResponse<JobOfferDto>> first = new AtomicReference<>();
+        statements(() -> first.set(
+                service.searchJobsAfter(null, null, JobStatus.PUBLISHED, null, null, null, 5)));
+        JobOfferCursor after = JobOfferCursor.decode(first.get().getNextCursor());
+
+        long small = statements(() -> assertThat(
+                service.searchJobsAfter(null, null, JobStatus.PUBLISHED, null, null, after, 5)
+                        .getContent()).hasSize(5));
+        long large = statements(() -> assertThat(
+                service.searchJobsAfter("java", null, JobStatus.PUBLISHED, null, null, after, 25)
+                        .getContent()).hasSize(25).allSatisfy(JobOfferSearchStatementCountTests::hasRequirements));
+
+        assertThat(large).isEqualTo(small).isLessThanOrEqualTo(KEYSET_NEXT_PAGE_STATEMENTS);
+    }
+
+    private static long statements(Runnable search) {
+        STATEMENTS.set(0);
+        search.run();
+        return STATEMENTS.get();
+    }
+
+    private static void hasRequirements(JobOfferDto job) {
+        assertThat(job.getRequirements()).hasSize(REQUIREMENTS_PER_JOB);
+    }
+}
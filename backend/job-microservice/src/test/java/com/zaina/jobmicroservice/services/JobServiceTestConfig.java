@@ -0,0 +1,71 @@
+package com.zaina.jobmicroservice.services;
+
+import com.zaina.jobmicroservice.config.JobSearchIndexSetup;
+import com.zaina.jobmicroservice.domain.entities.JobOffer;
+import com.zaina.jobmicroservice.messaging.AppEventPublisher;
+import com.zaina.jobmicroservice.repos.JobOfferRepo;
+import jakarta.persistence.EntityManagerFactory;
+import org.mockito.Mockito;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Entities, repositories and JobOfferServiceImpl wired as in the service, without the
+ * rest of the application (config server, Eureka, RabbitMQ). The importing test
+ * provides the DataSource, a throwaway PostgreSQL (or an in-memory H2 where the test
+ * needs no PostgreSQL-only SQL): the schema is created and dropped.
+ */
+@Configuration
+@EnableTransactionManagement
+@EnableJpaRepositories(basePackageClasses = JobOfferRepo.class)
+@Import({JobOfferServiceImpl.class, RefNumberAllocator.class})
+class JobServiceTestConfig {
+
+    @Bean
+    LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
+        emf.setDataSource(dataSource);
+        emf.setPackagesToScan(JobOffer.class.getPackageName());
+        emf.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        emf.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+        return emf;
+    }
+
+    @Bean
+    PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+
+    @Bean
+    JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+
+    @Bean
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate(DataSource dataSource) {
+        return new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    // never run here, so searches take the LIKE / keyset SQL paths (no search_vector needed)
+    @Bean
+    JobSearchIndexSetup jobSearchIndexSetup(JdbcTemplate jdbcTemplate) {
+        return new JobSearchIndexSetup(jdbcTemplate);
+    }
+
+    @Bean
+    AppEventPublisher appEventPublisher() {
+        return Mockito.mock(AppEventPublisher.class);
+    }
+}
@@ -0,0 +1,138 @@
+package com.zaina.jobmicroservice.services;
+
+import com.zaina.jobmicroservice.domain.enums.EmploymentType;
+import com.zaina.jobmicroservice.domain.enums.JobStatus;
+import com.zaina.jobmicroservice.dto.JobOfferDto;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reference numbers under concurrent creates: thousands of jobs created in parallel
+ * must all be inserted (the unique constraint on ref_number would fail a duplicate)
+ * with distinct numbers, and the numbers may only skip what is left of a block.
+ *
+ * Opt-in, needs a throwaway PostgreSQL (see JobServiceTestConfig):
+ * <pre>
+ * mvn test -Dtest=RefNumberAllocatorConcurrencyTests \
+ *     -Djobs.test.jdbc.url=jdbc:postgresql://localhost:5432/jobtest \
+ *     -Djobs.test.jdbc.user=postgres -Djobs.test.jdbc.password=postgres
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "jobs.test.jdbc.url", matches = ".+")
+@SpringJUnitConfig(RefNumberAllocatorConcurrencyTests.Config.class)
+class RefNumberAllocatorConcurrencyTests {
+
+    private static final int THREADS = 16;
+    private static final int JOBS = 4000;
+    private static final int NUMBERS_PER_REPLICA = 10_000;
+
+    @Configuration
+    @Import(JobServiceTestConfig.class)
+    static class Config {
+
+        @Bean(destroyMethod = "close")
+        DataSource dataSource() {
+            HikariDataSource ds = new HikariDataSource();
+            ds.setJdbcUrl(System.getProperty("jobs.test.jdbc.url"));
+            ds.setUsername(System.getProperty("jobs.test.jdbc.user", "postgres"));
+            ds.setPassword(System.getProperty("jobs.test.jdbc.password", "postgres"));
+            // room for the REQUIRES_NEW transaction that creates the sequence
+            ds.setMaximumPoolSize(THREADS + 2);
+            return ds;
+        }
+    }
+
+    @Autowired
+    private JobOfferService service;
+
+    @Autowired
+    private RefNumberAllocator allocator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void parallelCreatesGetDistinctNumbersWithinOneBlockOfGaps() throws Exception {
+        List<Callable<JobOfferDto>> creates = new ArrayList<>(JOBS);
+        for (int i = 0; i < JOBS; i++) {
+            JobOfferDto dto = new JobOfferDto();
+            dto.setTitle("Concurrent job " + i);
+            dto.setEmploymentType(EmploymentType.FULL_TIME);
+            dto.setJobStatus(JobStatus.DRAFT);
+            creates.add(() -> service.createJobOffer(dto, "test"));
+        }
+
+        List<Long> numbers = new ArrayList<>(JOBS);
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            for (Future<JobOfferDto> created : pool.invokeAll(creates)) {
+                String ref = created.get().getRefNumber();
+                assertThat(ref).matches("JOB-\\d{5,}");
+                numbers.add(Long.parseLong(ref.substring(4)));
+            }
+        }
+
+        assertThat(new HashSet<>(numbers)).hasSize(JOBS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(DISTINCT ref_number) FROM job_offer WHERE title LIKE 'Concurrent job %'",
+                Long.class)).isEqualTo(JOBS);
+        // one allocator: only the block it started in can be partly used by earlier creates
+        assertThat(span(numbers) - JOBS).isLessThan(allocator.blockSize());
+    }
+
+    @Test
+    void replicasSharingTheSequenceNeverHandOutTheSameNumber() throws Exception {
+        // two instances on one database, like two replicas of the service
+        RefNumberAllocator first = new RefNumberAllocator(jdbcTemplate, transactionManager, 50);
+        RefNumberAllocator second = new RefNumberAllocator(jdbcTemplate, transactionManager, 50);
+        int blockSize = first.blockSize();
+
+        List<Callable<List<Long>>> draws = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            RefNumberAllocator replica = t % 2 == 0 ? first : second;
+            draws.add(() -> {
+                List<Long> drawn = new ArrayList<>();
+                for (int i = 0; i < 2 * NUMBERS_PER_REPLICA / THREADS; i++) drawn.add(replica.next());
+                return drawn;
+            });
+        }
+
+        List<Long> numbers = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            for (Future<List<Long>> drawn : pool.invokeAll(draws)) numbers.addAll(drawn.get());
+        }
+
+        Set<Long> distinct = new HashSet<>(numbers);
+        assertThat(distinct).hasSize(numbers.size());
+        // each replica can leave at most the rest of its current block unused
+        assertThat(span(numbers) - numbers.size()).isLessThan(2L * blockSize);
+    }
+
+    private static long span(List<Long> numbers) {
+        long min = numbers.stream().mapToLong(Long::longValue).min().orElseThrow();
+        long max = numbers.stream().mapToLong(Long::longValue).max().orElseThrow();
+        return max - min + 1;
+    }
+}
@@ -0,0 +1,129 @@
+package com.zaina.jobmicroservice.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Block arithmetic of RefNumberAllocator, with the sequence stubbed by a counter that
+ * steps by the block size like job_ref_seq does. No database: see
+ * RefNumberAllocatorConcurrencyTests for the same against PostgreSQL.
+ */
+class RefNumberAllocatorTests {
+
+    private static final int BLOCK = 10;
+
+    /** nextval of a sequence that starts at 1 and increments by the block size. */
+    private static final class StubSequence {
+        final AtomicLong value = new AtomicLong(1 - BLOCK);
+        final AtomicInteger calls = new AtomicInteger();
+
+        long nextval() {
+            calls.incrementAndGet();
+            return value.addAndGet(BLOCK);
+        }
+    }
+
+    private static RefNumberAllocator allocator(StubSequence sequence, int configuredBlockSize, int increment) {
+        return new RefNumberAllocator(null, null, configuredBlockSize) {
+            @Override
+            long reserveBlock() {
+                return sequence.nextval();
+            }
+
+            @Override
+            int ensureSequence() {
+                return increment;
+            }
+        };
+    }
+
+    @Test
+    void numbersRunThroughABlockBeforeTheNextIsReserved() {
+        StubSequence sequence = new StubSequence();
+        RefNumberAllocator allocator = allocator(sequence, BLOCK, BLOCK);
+
+        List<Long> numbers = new ArrayList<>();
+        for (int i = 0; i < 2 * BLOCK + 5; i++) numbers.add(allocator.next());
+
+        List<Long> expected = new ArrayList<>();
+        for (long n = 1; n <= 2 * BLOCK + 5; n++) expected.add(n);
+        assertThat(numbers).isEqualTo(expected);
+        assertThat(sequence.calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void theSequenceIncrementWinsOverTheConfiguredBlockSize() {
+        StubSequence sequence = new StubSequence();
+        // configured 50, but the sequence was created by a replica configured with 10
+        RefNumberAllocator allocator = allocator(sequence, 50, BLOCK);
+
+        for (int i = 0; i < BLOCK; i++) allocator.next();
+        assertThat(allocator.next()).isEqualTo(BLOCK + 1);
+        assertThat(allocator.blockSize()).isEqualTo(BLOCK);
+        assertThat(sequence.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void refNumbersArePaddedToFiveDigits() {
+        RefNumberAllocator allocator = allocator(new StubSequence(), BLOCK, BLOCK);
+
+        assertThat(allocator.nextRefNumber()).isEqualTo("JOB-00001");
+    }
+
+    @Test
+    void replicasAreUniqueButOnlyOrderedWithinEachInstance() {
+        StubSequence sequence = new StubSequence();
+        RefNumberAllocator first = allocator(sequence, BLOCK, BLOCK);
+        RefNumberAllocator second = allocator(sequence, BLOCK, BLOCK);
+
+        long a1 = first.next();    // block [1, 11)
+        long b1 = second.next();   // block [11, 21)
+        long a2 = first.next();    // still the first block
+
+        assertThat(a2).isGreaterThan(a1).isLessThan(b1);
+    }
+
+    @Test
+    void concurrentDrawsOnSeveralReplicasNeverRepeatANumber() throws Exception {
+        StubSequence sequence = new StubSequence();
+        List<RefNumberAllocator> replicas = List.of(
+                allocator(sequence, BLOCK, BLOCK), allocator(sequence, BLOCK, BLOCK));
+        int threads = 8;
+        int perThread = 1000;
+
+        List<Callable<List<Long>>> draws = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            RefNumberAllocator replica = replicas.get(t % replicas.size());
+            draws.add(() -> {
+                List<Long> drawn = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) drawn.add(replica.next());
+                return drawn;
+            });
+        }
+
+        List<Long> numbers = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (Future<List<Long>> drawn : pool.invokeAll(draws)) {
+                // each thread sees its own draws in order
+                assertThat(drawn.get()).isSorted();
+                numbers.addAll(drawn.get());
+            }
+        }
+
+        assertThat(new HashSet<>(numbers)).hasSize(threads * perThread);
+        // only the unfinished tail of each replica's current block is skipped
+        long max = numbers.stream().mapToLong(Long::longValue).max().orElseThrow();
+        assertThat(max - numbers.size()).isLessThan((long) replicas.size() * BLOCK);
+    }
+}
@@ -147,12 +147,12 @@ public class NotificationService {
         return "the job";
     }
 
-    private String buildJobUpdatedBody(String jobTitle, Map<String, Object> changes) {
+    static String buildJobUpdatedBody(String jobTitle, Map<String, Object> changes) {
         StringBuilder sb = new StringBuilder();
         sb.append("The job \"").append(jobTitle).append("\" you applied to has been updated.");
         if (changes != null && !changes.isEmpty()) {
             String fieldNames = changes.keySet().stream()
-                    .map(this::formatFieldName)
+                    .map(NotificationService::formatFieldName)
                     .collect(Collectors.joining(", "));
             sb.append(" The following fields were changed: ").append(fieldNames).append(".\n");
         }
@@ -160,7 +160,7 @@ public class NotificationService {
         return sb.toString();
     }
 
-    private String formatFieldName(String key) {
+    private static String formatFieldName(String key) {
         return switch (key) {
             case "title" -> "Title";
             case "description" -> "Description";